@@ -15,6 +15,7 @@
  */
 package org.achartengine;
 
+import org.achartengine.chart.AbstractChart;
 import org.achartengine.chart.BarChart;
 import org.achartengine.chart.BarChart.Type;
 import org.achartengine.chart.BubbleChart;
@@ -46,13 +47,46 @@ public class ChartFactory {
   /** The key for the chart data. */
   public static final String CHART = "chart";
 
+  /** The key for the handle of the chart registered in the process. */
+  public static final String CHART_HANDLE = "chart_handle";
+
   /** The key for the chart graphical activity title. */
   public static final String TITLE = "title";
 
+  /** If the intents carry handles to registered charts instead of charts. */
+  private static volatile boolean sInProcessCharts;
+
   private ChartFactory() {
     // empty
   }
 
+  /**
+   * Returns if the chart intents carry a handle to a chart registered in the
+   * process, instead of the serialized chart.
+   * 
+   * @return if the charts are passed in the process
+   */
+  public static boolean isInProcessCharts() {
+    return sInProcessCharts;
+  }
+
+  /**
+   * Sets if the chart intents carry a handle to a chart registered in the
+   * {@link ChartRegistry}, instead of the serialized chart. The chart
+   * graphical activity then opens the chart without copying it, but the
+   * intents can only be started from the process that created them, and
+   * before the chart is released by the registry. The charts are not
+   * released when the activity finishes, such as an intent can be started
+   * again, from the recent tasks for instance. The registry releases the
+   * least recently used charts over its capacity, or a chart can be released
+   * explicitly with {@link ChartRegistry#release(long)}.
+   * 
+   * @param inProcess if the charts are passed in the process
+   */
+  public static void setInProcessCharts(boolean inProcess) {
+    sInProcessCharts = inProcess;
+  }
+
   /**
    * Creates a line chart view.
    * 
@@ -388,7 +422,7 @@ public class ChartFactory {
     checkParameters(dataset, renderer);
     Intent intent = new Intent(context, GraphicalActivity.class);
     XYChart chart = new LineChart(dataset, renderer);
-    intent.putExtra(CHART, chart);
+    putChart(intent, chart);
     intent.putExtra(TITLE, activityTitle);
     return intent;
   }
@@ -415,7 +449,7 @@ public class ChartFactory {
     checkParameters(dataset, renderer);
     Intent intent = new Intent(context, GraphicalActivity.class);
     XYChart chart = new CubicLineChart(dataset, renderer, smoothness);
-    intent.putExtra(CHART, chart);
+    putChart(intent, chart);
     intent.putExtra(TITLE, activityTitle);
     return intent;
   }
@@ -438,7 +472,7 @@ public class ChartFactory {
     checkParameters(dataset, renderer);
     Intent intent = new Intent(context, GraphicalActivity.class);
     XYChart chart = new ScatterChart(dataset, renderer);
-    intent.putExtra(CHART, chart);
+    putChart(intent, chart);
     intent.putExtra(TITLE, activityTitle);
     return intent;
   }
@@ -461,7 +495,7 @@ public class ChartFactory {
     checkParameters(dataset, renderer);
     Intent intent = new Intent(context, GraphicalActivity.class);
     XYChart chart = new BubbleChart(dataset, renderer);
-    intent.putExtra(CHART, chart);
+    putChart(intent, chart);
     intent.putExtra(TITLE, activityTitle);
     return intent;
   }
@@ -487,7 +521,7 @@ public class ChartFactory {
     Intent intent = new Intent(context, GraphicalActivity.class);
     TimeChart chart = new TimeChart(dataset, renderer);
     chart.setDateFormat(format);
-    intent.putExtra(CHART, chart);
+    putChart(intent, chart);
     intent.putExtra(TITLE, activityTitle);
     return intent;
   }
@@ -511,7 +545,7 @@ public class ChartFactory {
     checkParameters(dataset, renderer);
     Intent intent = new Intent(context, GraphicalActivity.class);
     BarChart chart = new BarChart(dataset, renderer, type);
-    intent.putExtra(CHART, chart);
+    putChart(intent, chart);
     intent.putExtra(TITLE, activityTitle);
     return intent;
   }
@@ -536,7 +570,7 @@ public class ChartFactory {
     checkParameters(dataset, renderer);
     Intent intent = new Intent(context, GraphicalActivity.class);
     RangeBarChart chart = new RangeBarChart(dataset, renderer, type);
-    intent.putExtra(CHART, chart);
+    putChart(intent, chart);
     intent.putExtra(TITLE, activityTitle);
     return intent;
   }
@@ -561,7 +595,7 @@ public class ChartFactory {
     checkParameters(dataset, renderer);
     Intent intent = new Intent(context, GraphicalActivity.class);
     CombinedXYChart chart = new CombinedXYChart(dataset, renderer, types);
-    intent.putExtra(CHART, chart);
+    putChart(intent, chart);
     intent.putExtra(TITLE, activityTitle);
     return intent;
   }
@@ -584,7 +618,7 @@ public class ChartFactory {
     checkParameters(dataset, renderer);
     Intent intent = new Intent(context, GraphicalActivity.class);
     PieChart chart = new PieChart(dataset, renderer);
-    intent.putExtra(CHART, chart);
+    putChart(intent, chart);
     intent.putExtra(TITLE, activityTitle);
     return intent;
   }
@@ -607,7 +641,7 @@ public class ChartFactory {
     checkParameters(dataset, renderer);
     Intent intent = new Intent(context, GraphicalActivity.class);
     DoughnutChart chart = new DoughnutChart(dataset, renderer);
-    intent.putExtra(CHART, chart);
+    putChart(intent, chart);
     intent.putExtra(TITLE, activityTitle);
     return intent;
   }
@@ -630,7 +664,7 @@ public class ChartFactory {
     checkParameters(dataset, renderer);
     Intent intent = new Intent(context, GraphicalActivity.class);
     DialChart chart = new DialChart(dataset, renderer);
-    intent.putExtra(CHART, chart);
+    putChart(intent, chart);
     intent.putExtra(TITLE, activityTitle);
     return intent;
   }
@@ -687,6 +721,20 @@ public class ChartFactory {
     }
   }
 
+  /**
+   * Puts the chart in the intent, or a handle to the registered chart.
+   * 
+   * @param intent the intent
+   * @param chart the chart
+   */
+  private static void putChart(Intent intent, AbstractChart chart) {
+    if (sInProcessCharts) {
+      intent.putExtra(CHART_HANDLE, ChartRegistry.register(chart));
+    } else {
+      intent.putExtra(CHART, chart);
+    }
+  }
+
   private static boolean checkMultipleSeriesItems(MultipleCategorySeries dataset, int value) {
     int count = dataset.getCategoriesCount();
     boolean equal = true;
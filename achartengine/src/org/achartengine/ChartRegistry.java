@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.achartengine.chart.AbstractChart;
+
+/**
+ * An in-process registry of the charts opened by the chart graphical activity.
+ * The intents carry a handle to the registered chart instead of a serialized
+ * copy, such as opening a large chart does not serialize and deserialize its
+ * values. The registry keeps the most recently registered charts only, the
+ * older ones being released.
+ */
+public class ChartRegistry {
+  /** The default maximum number of registered charts. */
+  private static final int DEFAULT_CAPACITY = 4;
+  /** The registered charts, in the least recently used order. */
+  private static final Map<Long, AbstractChart> CHARTS = new LinkedHashMap<Long, AbstractChart>(
+      16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Long, AbstractChart> eldest) {
+      return size() > sCapacity;
+    }
+  };
+  /** The maximum number of registered charts. */
+  private static int sCapacity = DEFAULT_CAPACITY;
+  /**
+   * The next handle. It starts at a random value, such as the handles of a
+   * previous process are not resolved to other charts.
+   */
+  private static long sNextHandle = new Random().nextLong() & Long.MAX_VALUE;
+
+  private ChartRegistry() {
+    // empty
+  }
+
+  /**
+   * Registers a chart.
+   * 
+   * @param chart the chart
+   * @return the chart handle, never 0
+   */
+  public static synchronized long register(AbstractChart chart) {
+    long handle = ++sNextHandle;
+    if (handle == 0) {
+      handle = ++sNextHandle;
+    }
+    CHARTS.put(handle, chart);
+    return handle;
+  }
+
+  /**
+   * Returns a registered chart.
+   * 
+   * @param handle the chart handle
+   * @return the chart, or null if it was released or was registered by another
+   *         process
+   */
+  public static synchronized AbstractChart get(long handle) {
+    return CHARTS.get(handle);
+  }
+
+  /**
+   * Releases a registered chart.
+   * 
+   * @param handle the chart handle
+   */
+  public static synchronized void release(long handle) {
+    CHARTS.remove(handle);
+  }
+
+  /**
+   * Returns the maximum number of registered charts.
+   * 
+   * @return the maximum number of registered charts
+   */
+  public static synchronized int getCapacity() {
+    return sCapacity;
+  }
+
+  /**
+   * Sets the maximum number of registered charts. When a chart is registered
+   * over this number, the least recently used chart is released.
+   * 
+   * @param capacity the maximum number of registered charts
+   */
+  public static synchronized void setCapacity(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity must be at least 1");
+    }
+    sCapacity = capacity;
+    while (CHARTS.size() > capacity) {
+      CHARTS.remove(CHARTS.keySet().iterator().next());
+    }
+  }
+}
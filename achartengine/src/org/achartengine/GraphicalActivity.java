@@ -34,7 +34,23 @@ public class GraphicalActivity extends Activity {
   protected void onCreate(Bundle savedInstanceState) {
     super.onCreate(savedInstanceState);
     Bundle extras = getIntent().getExtras();
-    mChart = (AbstractChart) extras.getSerializable(ChartFactory.CHART);
+    long chartHandle = extras.getLong(ChartFactory.CHART_HANDLE);
+    // the chart is kept when the activity is recreated for a configuration change
+    mChart = (AbstractChart) getLastNonConfigurationInstance();
+    if (mChart == null) {
+      if (chartHandle != 0) {
+        // the chart is not released when the activity finishes, such as the
+        // intent can be started again, the registry releases the oldest charts
+        mChart = ChartRegistry.get(chartHandle);
+        if (mChart == null) {
+          // the chart was released or the process was restarted
+          finish();
+          return;
+        }
+      } else {
+        mChart = (AbstractChart) extras.getSerializable(ChartFactory.CHART);
+      }
+    }
     mView = new GraphicalView(this, mChart);
     String title = extras.getString(ChartFactory.TITLE);
     if (title == null) {
@@ -45,4 +61,9 @@ public class GraphicalActivity extends Activity {
     setContentView(mView);
   }
 
+  @Override
+  public Object onRetainNonConfigurationInstance() {
+    return mChart;
+  }
+
 }
\ No newline at end of file
@@ -15,11 +15,16 @@
  */
 package org.achartengine;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.achartengine.chart.AbstractChart;
 import org.achartengine.chart.RoundChart;
 import org.achartengine.chart.XYChart;
 import org.achartengine.model.Point;
+import org.achartengine.model.SeriesChangeListener;
 import org.achartengine.model.SeriesSelection;
+import org.achartengine.model.XYMultipleSeriesDataset;
+import org.achartengine.model.XYSeries;
 import org.achartengine.renderer.DefaultRenderer;
 import org.achartengine.renderer.XYMultipleSeriesRenderer;
 import org.achartengine.tools.FitZoom;
@@ -37,6 +42,7 @@ import android.graphics.Rect;
 import android.graphics.RectF;
 import android.os.Build;
 import android.os.Handler;
+import android.os.SystemClock;
 import android.view.MotionEvent;
 import android.view.View;
 
@@ -80,6 +86,34 @@ public class GraphicalView extends View {
   private float oldY;
   /** If the graphical view is drawn. */
   private boolean mDrawn;
+  /** The minimum interval between two repaints caused by data changes, in milliseconds. */
+  private static final long CHANGE_REPAINT_INTERVAL = 16;
+  /** If a repaint caused by data changes is scheduled. */
+  private final AtomicBoolean mChangeRepaintScheduled = new AtomicBoolean();
+  /** The time of the last repaint caused by data changes. */
+  private volatile long mLastChangeRepaint;
+  /** The chart render key when it was last drawn. */
+  private long mDrawnRenderKey;
+  /** The repaint caused by data changes, run on the user interface thread. */
+  private final Runnable mChangeRepaint = new Runnable() {
+    public void run() {
+      mChangeRepaintScheduled.set(false);
+      mLastChangeRepaint = SystemClock.uptimeMillis();
+      if (!mDrawn || mChart.getRenderKey() != mDrawnRenderKey) {
+        invalidate();
+      }
+    }
+  };
+  /** The listener scheduling a repaint when the chart data is modified. */
+  private final SeriesChangeListener mChangeListener = new SeriesChangeListener() {
+    public void valuesAppended(XYSeries series, int start, int end) {
+      scheduleChangeRepaint();
+    }
+
+    public void seriesChanged(XYSeries series) {
+      scheduleChangeRepaint();
+    }
+  };
 
   /**
    * Creates a new graphical view.
@@ -178,7 +212,9 @@ public class GraphicalView extends View {
       width = getMeasuredWidth();
       height = getMeasuredHeight();
     }
+    long renderKey = mChart.getRenderKey();
     mChart.draw(canvas, left, top, width, height, mPaint);
+    mDrawnRenderKey = renderKey;
     if (mRenderer != null && mRenderer.isZoomEnabled() && mRenderer.isZoomButtonsVisible()) {
       mPaint.setColor(ZOOM_BUTTONS_COLOR);
       zoomSize = Math.max(zoomSize, Math.min(width, height) / 7);
@@ -304,6 +340,51 @@ public class GraphicalView extends View {
     return super.onTouchEvent(event);
   }
 
+  @Override
+  protected void onAttachedToWindow() {
+    super.onAttachedToWindow();
+    XYMultipleSeriesDataset dataset = getDataset();
+    if (dataset != null) {
+      dataset.addChangeListener(mChangeListener);
+    }
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    XYMultipleSeriesDataset dataset = getDataset();
+    if (dataset != null) {
+      dataset.removeChangeListener(mChangeListener);
+    }
+    mHandler.removeCallbacks(mChangeRepaint);
+    mChangeRepaintScheduled.set(false);
+    super.onDetachedFromWindow();
+  }
+
+  /**
+   * Returns the dataset of the chart, if it is an XY chart.
+   * 
+   * @return the dataset or null
+   */
+  private XYMultipleSeriesDataset getDataset() {
+    if (mChart instanceof XYChart) {
+      return ((XYChart) mChart).getDataset();
+    }
+    return null;
+  }
+
+  /**
+   * Schedules a repaint after the chart data was modified. The changes are
+   * coalesced, such as at most one repaint is done every frame interval, and
+   * none at all if the chart render key did not change since it was drawn.
+   */
+  private void scheduleChangeRepaint() {
+    if (mChangeRepaintScheduled.compareAndSet(false, true)) {
+      long now = SystemClock.uptimeMillis();
+      mHandler.postAtTime(mChangeRepaint, Math.max(now, mLastChangeRepaint
+          + CHANGE_REPAINT_INTERVAL));
+    }
+  }
+
   /**
    * Schedule a view content repaint.
    */
@@ -40,6 +40,9 @@ import android.graphics.RectF;
  * An abstract class to be implemented by the chart rendering classes.
  */
 public abstract class AbstractChart implements Serializable {
+  /** The number of render keys provided by the default implementation. */
+  private transient long mRenderKeyCount;
+
   /**
    * The graphical representation of the chart.
    * 
@@ -526,4 +529,29 @@ public abstract class AbstractChart implements Serializable {
     return null;
   }
 
+  /**
+   * Returns a key summarizing the versions of the data and of the renderers
+   * the chart is drawn from. Two equal keys mean nothing the chart depends on
+   * was modified in between, such as a view can skip repainting or a cache can
+   * reuse the previously rendered results. The default implementation returns
+   * a different key on every call.
+   * 
+   * @return the render key
+   */
+  public long getRenderKey() {
+    return mixRenderKey(System.identityHashCode(this), ++mRenderKeyCount);
+  }
+
+  /**
+   * Mixes a version into a render key.
+   * 
+   * @param key the render key
+   * @param version the version to be mixed in
+   * @return the new render key
+   */
+  protected static long mixRenderKey(long key, long version) {
+    key ^= version + 0x9E3779B97F4A7C15L + (key << 6) + (key >>> 2);
+    return key * 0x100000001B3L;
+  }
+
 }
@@ -243,15 +243,15 @@ public class BarChart extends XYChart {
    * @param paint the paint to be used for drawing
    * @param points the array of points to be used for drawing the series
    * @param seriesIndex the index of the series currently being drawn
-   * @param startIndex the start index of the rendering points
+   * @param indexes the series indexes of the rendering points
    */
   protected void drawChartValuesText(Canvas canvas, XYSeries series, XYSeriesRenderer renderer,
-      Paint paint, List<Float> points, int seriesIndex, int startIndex) {
+      Paint paint, List<Float> points, int seriesIndex, int[] indexes) {
     int seriesNr = mDataset.getSeriesCount();
     int length = points.size();
     float halfDiffX = getHalfDiffX(points, length, seriesNr);
     for (int i = 0; i < length; i += 2) {
-      int index = startIndex + i / 2;
+      int index = indexes[i / 2];
       double value = series.getY(index);
       if (!isNullValue(value)) {
         float x = points.get(i);
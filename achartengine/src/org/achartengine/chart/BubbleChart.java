@@ -18,6 +18,7 @@ package org.achartengine.chart;
 import java.util.List;
 
 import org.achartengine.model.XYMultipleSeriesDataset;
+import org.achartengine.model.XYSeries;
 import org.achartengine.model.XYValueSeries;
 import org.achartengine.renderer.SimpleSeriesRenderer;
 import org.achartengine.renderer.XYMultipleSeriesRenderer;
@@ -68,14 +69,34 @@ public class BubbleChart extends XYChart {
   @Override
   public void drawSeries(Canvas canvas, Paint paint, List<Float> points,
       XYSeriesRenderer renderer, float yAxisValue, int seriesIndex, int startIndex) {
+    drawSeries(mDataset.getSeriesAt(seriesIndex), canvas, paint, points, renderer, yAxisValue,
+        seriesIndex, getIndexes(startIndex, points.size() / 2));
+  }
+
+  /**
+   * The graphical representation of a series. The bubble sizes are read from
+   * the drawn series, a snapshot of the dataset one, at the points indexes.
+   * 
+   * @param series the series, which may be a snapshot of the dataset one
+   * @param canvas the canvas to paint to
+   * @param paint the paint to be used for drawing
+   * @param points the array of points to be used for drawing the series
+   * @param renderer the series renderer
+   * @param yAxisValue the minimum value of the y axis
+   * @param seriesIndex the index of the series currently being drawn
+   * @param indexes the series indexes of the rendering points
+   */
+  @Override
+  protected void drawSeries(XYSeries series, Canvas canvas, Paint paint, List<Float> points,
+      XYSeriesRenderer renderer, float yAxisValue, int seriesIndex, int[] indexes) {
     paint.setColor(renderer.getColor());
     paint.setStyle(Style.FILL);
     int length = points.size();
-    XYValueSeries series = (XYValueSeries) mDataset.getSeriesAt(seriesIndex);
-    double max = series.getMaxValue();
+    XYValueSeries valueSeries = (XYValueSeries) series;
+    double max = valueSeries.getMaxValue();
     double coef = MAX_BUBBLE_SIZE / max;
     for (int i = 0; i < length; i += 2) {
-      double size = series.getValue(startIndex + i / 2) * coef + MIN_BUBBLE_SIZE;
+      double size = valueSeries.getValue(indexes[i / 2]) * coef + MIN_BUBBLE_SIZE;
       drawCircle(canvas, paint, points.get(i), points.get(i + 1), (float) size);
     }
   }
@@ -83,13 +104,20 @@ public class BubbleChart extends XYChart {
   @Override
   protected ClickableArea[] clickableAreasForPoints(List<Float> points, List<Double> values,
       float yAxisValue, int seriesIndex, int startIndex) {
+    return clickableAreasForPoints(mDataset.getSeriesAt(seriesIndex), points, values,
+        yAxisValue, seriesIndex, getIndexes(startIndex, points.size() / 2));
+  }
+
+  @Override
+  protected ClickableArea[] clickableAreasForPoints(XYSeries series, List<Float> points,
+      List<Double> values, float yAxisValue, int seriesIndex, int[] indexes) {
     int length = points.size();
-    XYValueSeries series = (XYValueSeries) mDataset.getSeriesAt(seriesIndex);
-    double max = series.getMaxValue();
+    XYValueSeries valueSeries = (XYValueSeries) series;
+    double max = valueSeries.getMaxValue();
     double coef = MAX_BUBBLE_SIZE / max;
     ClickableArea[] ret = new ClickableArea[length / 2];
     for (int i = 0; i < length; i += 2) {
-      double size = series.getValue(startIndex + i / 2) * coef + MIN_BUBBLE_SIZE;
+      double size = valueSeries.getValue(indexes[i / 2]) * coef + MIN_BUBBLE_SIZE;
       ret[i / 2] = new ClickableArea(new RectF(points.get(i) - (float) size, points.get(i + 1)
           - (float) size, points.get(i) + (float) size, points.get(i + 1) + (float) size),
           values.get(i), values.get(i + 1));
@@ -21,6 +21,7 @@ public class ClickableArea {
   private RectF rect;
   private double x;
   private double y;
+  private int index = -1;
 
   public ClickableArea(RectF rect, double x, double y) {
     super();
@@ -41,4 +42,22 @@ public class ClickableArea {
     return y;
   }
 
+  /**
+   * Returns the index in the series of the point, or -1 if not known.
+   * 
+   * @return the point index
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Sets the index in the series of the point.
+   * 
+   * @param index the point index
+   */
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
 }
@@ -144,15 +144,23 @@ public class CombinedXYChart extends XYChart {
         getChartSeriesIndex(seriesIndex), startIndex);
   }
 
+  @Override
+  protected ClickableArea[] clickableAreasForPoints(XYSeries series, List<Float> points,
+      List<Double> values, float yAxisValue, int seriesIndex, int[] indexes) {
+    XYChart chart = getXYChart(seriesIndex);
+    return chart.clickableAreasForPoints(series, points, values, yAxisValue,
+        getChartSeriesIndex(seriesIndex), indexes);
+  }
+
   @Override
   protected void drawSeries(XYSeries series, Canvas canvas, Paint paint, List<Float> pointsList,
       XYSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, Orientation or,
-      int startIndex) {
+      int[] indexes) {
     XYChart chart = getXYChart(seriesIndex);
     chart.setScreenR(getScreenR());
     chart.setCalcRange(getCalcRange(mDataset.getSeriesAt(seriesIndex).getScaleNumber()), 0);
     chart.drawSeries(series, canvas, paint, pointsList, seriesRenderer, yAxisValue,
-        getChartSeriesIndex(seriesIndex), or, startIndex);
+        getChartSeriesIndex(seriesIndex), or, indexes, isConsecutive(indexes));
   }
 
   /**
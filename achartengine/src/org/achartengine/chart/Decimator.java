@@ -0,0 +1,38 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.chart;
+
+import java.io.Serializable;
+
+/**
+ * A decimation stage of the XY charts rendering. It selects which of the
+ * points of a series are actually drawn, such as dense series can be rendered
+ * using a number of points depending on the chart width and not on the series
+ * size.
+ */
+public interface Decimator extends Serializable {
+  /**
+   * Selects the points to be drawn.
+   * 
+   * @param points the screen coordinates of the points, as X and Y pairs
+   * @param values the real values of the points, as X and Y pairs
+   * @param length the number of points, the arrays may be longer
+   * @param width the width of the chart area, in pixels
+   * @return the ascending positions of the points to be drawn, or null if all
+   *         the points must be drawn
+   */
+  int[] decimate(float[] points, double[] values, int length, int width);
+}
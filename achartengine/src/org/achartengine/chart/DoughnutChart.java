@@ -159,4 +159,9 @@ public class DoughnutChart extends RoundChart {
     canvas.drawCircle(x + SHAPE_WIDTH - mStep, y, mStep, paint);
   }
 
+  @Override
+  public long getRenderKey() {
+    return mixRendererVersions(mixRenderKey(0, mDataset.getVersion()));
+  }
+
 }
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.chart;
+
+/**
+ * A decimator using the Largest-Triangle-Three-Buckets algorithm. The points
+ * are split in buckets and, from every bucket, the point forming the largest
+ * triangle with the previously selected point and the average of the next
+ * bucket is kept. It preserves the visual shape of line charts.
+ */
+public class LttbDecimator implements Decimator {
+  /** The default number of kept points for every pixel of the chart width. */
+  public static final float DEFAULT_POINTS_PER_PIXEL = 2;
+  /** The number of kept points for every pixel of the chart width. */
+  private final float mPointsPerPixel;
+
+  /**
+   * Builds a new LTTB decimator keeping 2 points for every pixel.
+   */
+  public LttbDecimator() {
+    this(DEFAULT_POINTS_PER_PIXEL);
+  }
+
+  /**
+   * Builds a new LTTB decimator.
+   * 
+   * @param pointsPerPixel the number of kept points for every pixel of the
+   *          chart width
+   */
+  public LttbDecimator(float pointsPerPixel) {
+    mPointsPerPixel = pointsPerPixel;
+  }
+
+  /**
+   * Returns the number of kept points for every pixel of the chart width.
+   * 
+   * @return the number of points per pixel
+   */
+  public float getPointsPerPixel() {
+    return mPointsPerPixel;
+  }
+
+  public int[] decimate(float[] points, double[] values, int length, int width) {
+    int threshold = Math.max(3, Math.round(width * mPointsPerPixel));
+    if (length <= threshold) {
+      return null;
+    }
+    int[] kept = new int[threshold];
+    int count = 0;
+    kept[count++] = 0;
+    // the first and last points are always kept, the others are split in
+    // threshold - 2 buckets
+    double bucketSize = (double) (length - 2) / (threshold - 2);
+    int selected = 0;
+    for (int i = 0; i < threshold - 2; i++) {
+      int nextStart = (int) ((i + 1) * bucketSize) + 1;
+      int nextEnd = Math.min((int) ((i + 2) * bucketSize) + 1, length);
+      double averageX = 0;
+      double averageY = 0;
+      for (int j = nextStart; j < nextEnd; j++) {
+        averageX += points[2 * j];
+        averageY += points[2 * j + 1];
+      }
+      int nextLength = nextEnd - nextStart;
+      if (nextLength > 0) {
+        averageX /= nextLength;
+        averageY /= nextLength;
+      } else {
+        averageX = points[2 * length - 2];
+        averageY = points[2 * length - 1];
+      }
+
+      int start = (int) (i * bucketSize) + 1;
+      int end = nextStart;
+      float selectedX = points[2 * selected];
+      float selectedY = points[2 * selected + 1];
+      double maxArea = -1;
+      int maxAreaPoint = start;
+      for (int j = start; j < end; j++) {
+        // twice the triangle area, the factor does not change the comparison
+        double area = Math.abs((selectedX - averageX) * (points[2 * j + 1] - selectedY)
+            - (selectedX - points[2 * j]) * (averageY - selectedY));
+        if (area > maxArea) {
+          maxArea = area;
+          maxAreaPoint = j;
+        }
+      }
+      kept[count++] = maxAreaPoint;
+      selected = maxAreaPoint;
+    }
+    kept[count++] = length - 1;
+    return kept;
+  }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.chart;
+
+/**
+ * A decimator using the M4 aggregation. For every pixel column, only the
+ * first, last, minimum and maximum Y points are kept, such as a line series
+ * is drawn using at most four vertices per column. The result is pixel exact
+ * for line charts, the spikes are never hidden.
+ */
+public class M4Decimator implements Decimator {
+
+  public int[] decimate(float[] points, double[] values, int length, int width) {
+    if (length <= 4) {
+      return null;
+    }
+    int[] kept = new int[length];
+    int count = 0;
+    int first = 0;
+    int min = 0;
+    int max = 0;
+    float minY = points[1];
+    float maxY = minY;
+    int column = (int) Math.floor(points[0]);
+    for (int i = 1; i <= length; i++) {
+      int pointColumn = 0;
+      float y = 0;
+      if (i < length) {
+        pointColumn = (int) Math.floor(points[2 * i]);
+        y = points[2 * i + 1];
+        if (pointColumn == column) {
+          if (y < minY) {
+            minY = y;
+            min = i;
+          } else if (y > maxY) {
+            maxY = y;
+            max = i;
+          }
+          continue;
+        }
+      }
+      // the column is complete, keep its points in their original order
+      int last = i - 1;
+      kept[count++] = first;
+      if (min != first && min < max) {
+        kept[count++] = min;
+      }
+      if (max != first && max != last) {
+        kept[count++] = max;
+      }
+      if (min != first && min != last && min > max) {
+        kept[count++] = min;
+      }
+      if (last != first) {
+        kept[count++] = last;
+      }
+      first = i;
+      min = i;
+      max = i;
+      minY = y;
+      maxY = y;
+      column = pointColumn;
+    }
+    if (count == length) {
+      return null;
+    }
+    int[] result = new int[count];
+    System.arraycopy(kept, 0, result, 0, count);
+    return result;
+  }
+}
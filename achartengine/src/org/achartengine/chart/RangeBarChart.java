@@ -96,26 +96,27 @@ public class RangeBarChart extends BarChart {
    * @param paint the paint to be used for drawing
    * @param points the array of points to be used for drawing the series
    * @param seriesIndex the index of the series currently being drawn
-   * @param startIndex the start index of the rendering points
+   * @param indexes the series indexes of the rendering points
    */
   protected void drawChartValuesText(Canvas canvas, XYSeries series, XYSeriesRenderer renderer,
-      Paint paint, List<Float> points, int seriesIndex, int startIndex) {
+      Paint paint, List<Float> points, int seriesIndex, int[] indexes) {
     int seriesNr = mDataset.getSeriesCount();
     float halfDiffX = getHalfDiffX(points, points.size(), seriesNr);
     int start = 0;
-    if (startIndex > 0) {
+    if (getStartIndex(indexes) > 0) {
       start = 2;
     }
     for (int i = start; i < points.size(); i += 4) {
-      int index = startIndex + i / 2;
+      int index = indexes[i / 2];
       float x = points.get(i);
       if (mType == Type.DEFAULT) {
         x += seriesIndex * 2 * halfDiffX - (seriesNr - 1.5f) * halfDiffX;
       }
 
-      if (!isNullValue(series.getY(index + 1)) && points.size() > i + 3) {
+      if (points.size() > i + 3 && !isNullValue(series.getY(indexes[i / 2 + 1]))) {
         // draw the maximum value
-        drawText(canvas, getLabel(renderer.getChartValuesFormat(), series.getY(index + 1)), x,
+        drawText(canvas,
+            getLabel(renderer.getChartValuesFormat(), series.getY(indexes[i / 2 + 1])), x,
             points.get(i + 3) - renderer.getChartValuesSpacing(), paint, 0);
       }
       if (!isNullValue(series.getY(index)) && points.size() > i + 1) {
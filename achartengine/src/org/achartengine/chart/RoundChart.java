@@ -104,6 +104,28 @@ public abstract class RoundChart extends AbstractChart {
     return mRenderer;
   }
 
+  @Override
+  public long getRenderKey() {
+    long key = mixRenderKey(0, mDataset == null ? 0 : mDataset.getVersion());
+    return mixRendererVersions(key);
+  }
+
+  /**
+   * Mixes the versions of the renderer and of its series renderers into a
+   * render key.
+   * 
+   * @param key the render key
+   * @return the new render key
+   */
+  protected long mixRendererVersions(long key) {
+    key = mixRenderKey(key, mRenderer.getVersion());
+    int renderersCount = mRenderer.getSeriesRendererCount();
+    for (int i = 0; i < renderersCount; i++) {
+      key = mixRenderKey(key, mRenderer.getSeriesRendererAt(i).getVersion());
+    }
+    return key;
+  }
+
   /**
    * Returns the center on X axis.
    * 
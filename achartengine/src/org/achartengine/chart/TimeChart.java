@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import org.achartengine.model.ResampledTimeSeries;
 import org.achartengine.model.XYMultipleSeriesDataset;
 import org.achartengine.model.XYSeries;
 import org.achartengine.renderer.XYMultipleSeriesRenderer;
@@ -54,6 +55,38 @@ public class TimeChart extends LineChart {
     super(dataset, renderer);
   }
 
+  /**
+   * The graphical representation of the time chart. The resampled series are
+   * given the visible time span first, to pick their bucket interval.
+   * 
+   * @param canvas the canvas to paint to
+   * @param x the top left x value of the view to draw to
+   * @param y the top left y value of the view to draw to
+   * @param width the width of the view to draw to
+   * @param height the height of the view to draw to
+   * @param paint the paint
+   */
+  @Override
+  public void draw(Canvas canvas, int x, int y, int width, int height, Paint paint) {
+    int length = mDataset.getSeriesCount();
+    for (int i = 0; i < length; i++) {
+      XYSeries series = mDataset.getSeriesAt(i);
+      if (series instanceof ResampledTimeSeries) {
+        ResampledTimeSeries resampled = (ResampledTimeSeries) series;
+        int scale = series.getScaleNumber();
+        double span;
+        if (mRenderer.isMinXSet(scale) && mRenderer.isMaxXSet(scale)) {
+          span = mRenderer.getXAxisMax(scale) - mRenderer.getXAxisMin(scale);
+        } else {
+          XYSeries source = resampled.getSource();
+          span = source.getItemCount() > 0 ? source.getMaxX() - source.getMinX() : 0;
+        }
+        resampled.setVisibleSpan(span);
+      }
+    }
+    super.draw(canvas, x, y, width, height, paint);
+  }
+
   /**
    * Returns the date format pattern to be used for formatting the X axis
    * labels.
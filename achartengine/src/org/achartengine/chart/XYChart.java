@@ -21,8 +21,6 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.SortedMap;
 
 import org.achartengine.model.Point;
 import org.achartengine.model.SeriesSelection;
@@ -34,6 +32,7 @@ import org.achartengine.renderer.SimpleSeriesRenderer;
 import org.achartengine.renderer.XYMultipleSeriesRenderer;
 import org.achartengine.renderer.XYMultipleSeriesRenderer.Orientation;
 import org.achartengine.renderer.XYSeriesRenderer;
+import org.achartengine.util.AnnotationArray;
 import org.achartengine.util.MathHelper;
 
 import android.graphics.Canvas;
@@ -74,6 +73,8 @@ public abstract class XYChart extends AbstractChart {
    * and the RectF list index is the point index in that series.
    */
   private Map<Integer, List<ClickableArea>> clickableAreas = new HashMap<Integer, List<ClickableArea>>();
+  /** The renderer modifications made by the chart itself while drawing. */
+  private transient long mDrawRendererChanges;
 
   protected XYChart() {
   }
@@ -107,6 +108,23 @@ public abstract class XYChart extends AbstractChart {
    * @param paint the paint
    */
   public void draw(Canvas canvas, int x, int y, int width, int height, Paint paint) {
+    long rendererVersion = mRenderer.getVersion();
+    drawChart(canvas, x, y, width, height, paint);
+    mDrawRendererChanges += mRenderer.getVersion() - rendererVersion;
+  }
+
+  /**
+   * Draws the XY chart. The renderer settings temporarily changed while
+   * drawing are not considered modifications by the render key.
+   * 
+   * @param canvas the canvas to paint to
+   * @param x the top left x value of the view to draw to
+   * @param y the top left y value of the view to draw to
+   * @param width the width of the view to draw to
+   * @param height the height of the view to draw to
+   * @param paint the paint
+   */
+  private void drawChart(Canvas canvas, int x, int y, int width, int height, Paint paint) {
     paint.setAntiAlias(mRenderer.isAntialiasing());
     int legendSize = getLegendSize(mRenderer, height / 5, mRenderer.getAxisTitleTextSize());
     int[] margins = mRenderer.getMargins();
@@ -217,6 +235,9 @@ public abstract class XYChart extends AbstractChart {
         mCalcRange.get(scale)[3] = maxY[scale];
       }
     }
+    if (mRenderer.isFitYToVisibleX()) {
+      fitYToVisibleX(minX[0], maxX[0], minY, maxY, maxScaleNumber);
+    }
     for (int i = 0; i < maxScaleNumber; i++) {
       if (maxX[i] - minX[i] != 0) {
         xPixelsPerUnit[i] = (right - left) / (maxX[i] - minX[i]);
@@ -276,83 +297,69 @@ public abstract class XYChart extends AbstractChart {
         continue;
       }
       XYSeriesRenderer seriesRenderer = (XYSeriesRenderer) mRenderer.getSeriesRendererAt(i);
+      // the values are read from a snapshot, such as the series lock is not
+      // held and values can be added while the frame is drawn
+      series = series.snapshot(seriesRenderer.isLevelOfDetailEnabled());
 
       // int originalValuesLength = series.getItemCount();
       // int valuesLength = originalValuesLength;
       // int length = valuesLength * 2;
 
-      List<Float> points = new ArrayList<Float>();
-      List<Double> values = new ArrayList<Double>();
+      SubSeries subSeries = new SubSeries();
       float yAxisValue = Math.min(bottom, (float) (bottom + yPixelsPerUnit[scale] * minY[scale]));
       LinkedList<ClickableArea> clickableArea = new LinkedList<ClickableArea>();
 
       clickableAreas.put(i, clickableArea);
 
-      synchronized (series) {
-        SortedMap<Double, Double> range = series.getRange(minX[scale], maxX[scale],
+      int[] levelOfDetail = null;
+      if (seriesRenderer.isLevelOfDetailEnabled()) {
+        levelOfDetail = series.getLevelOfDetail(minX[scale], maxX[scale],
+            seriesRenderer.isDisplayBoundingPoints(), right - left);
+      }
+      int fromIndex = 0;
+      int length;
+      if (levelOfDetail != null) {
+        length = levelOfDetail.length;
+      } else {
+        int[] window = series.getIndexWindow(minX[scale], maxX[scale],
             seriesRenderer.isDisplayBoundingPoints());
-        int startIndex = -1;
-
-        for (Entry<Double, Double> value : range.entrySet()) {
-          double xValue = value.getKey();
-          double yValue = value.getValue();
-          if (startIndex < 0 && (!isNullValue(yValue) || isRenderNullValues())) {
-            startIndex = series.getIndexForKey(xValue);
-          }
+        fromIndex = window[0];
+        length = window[1] - window[0];
+      }
 
-          // points.add((float) (left + xPixelsPerUnit[scale]
-          // * (value.getKey().floatValue() - minX[scale])));
-          // points.add((float) (bottom - yPixelsPerUnit[scale]
-          // * (value.getValue().floatValue() - minY[scale])));
-          values.add(value.getKey());
-          values.add(value.getValue());
-
-          if (!isNullValue(yValue)) {
-            points.add((float) (left + xPixelsPerUnit[scale] * (xValue - minX[scale])));
-            points.add((float) (bottom - yPixelsPerUnit[scale] * (yValue - minY[scale])));
-          } else if (isRenderNullValues()) {
-            points.add((float) (left + xPixelsPerUnit[scale] * (xValue - minX[scale])));
-            points.add((float) (bottom - yPixelsPerUnit[scale] * (-minY[scale])));
-          } else {
-            if (points.size() > 0) {
-              drawSeries(series, canvas, paint, points, seriesRenderer, yAxisValue, i, or,
-                  startIndex);
-              ClickableArea[] clickableAreasForSubSeries = clickableAreasForPoints(points, values,
-                  yAxisValue, i, startIndex);
-              clickableArea.addAll(Arrays.asList(clickableAreasForSubSeries));
-              points.clear();
-              values.clear();
-              startIndex = -1;
-            }
-            clickableArea.add(null);
+      for (int k = 0; k < length; k++) {
+        int index = levelOfDetail != null ? levelOfDetail[k] : fromIndex + k;
+        double xValue = series.getX(index);
+        double yValue = series.getY(index);
+        float xPixel = (float) (left + xPixelsPerUnit[scale] * (xValue - minX[scale]));
+        if (!isNullValue(yValue)) {
+          subSeries.add(index, xValue, yValue, xPixel,
+              (float) (bottom - yPixelsPerUnit[scale] * (yValue - minY[scale])));
+        } else if (isRenderNullValues()) {
+          subSeries.add(index, xValue, yValue, xPixel,
+              (float) (bottom - yPixelsPerUnit[scale] * (-minY[scale])));
+        } else {
+          if (subSeries.size() > 0) {
+            drawSubSeries(series, canvas, paint, subSeries, seriesRenderer, yAxisValue, i, or,
+                right - left, clickableArea);
+            subSeries.clear();
           }
+          clickableArea.add(null);
         }
+      }
 
-        int count = series.getAnnotationCount();
-        if (count > 0) {
-          paint.setColor(seriesRenderer.getAnnotationsColor());
-          paint.setTextSize(seriesRenderer.getAnnotationsTextSize());
-          paint.setTextAlign(seriesRenderer.getAnnotationsTextAlign());
-          Rect bound = new Rect();
-          for (int j = 0; j < count; j++) {
-            float xS = (float) (left + xPixelsPerUnit[scale]
-                * (series.getAnnotationX(j) - minX[scale]));
-            float yS = (float) (bottom - yPixelsPerUnit[scale]
-                * (series.getAnnotationY(j) - minY[scale]));
-            paint.getTextBounds(series.getAnnotationAt(j), 0, series.getAnnotationAt(j).length(),
-                bound);
-            if (xS < (xS + bound.width()) && yS < canvas.getHeight()) {
-              drawString(canvas, series.getAnnotationAt(j), xS, yS, paint);
-            }
-          }
-        }
+      AnnotationArray annotations = series.getAnnotations();
+      if (annotations.size() > 0) {
+        paint.setColor(seriesRenderer.getAnnotationsColor());
+        paint.setTextSize(seriesRenderer.getAnnotationsTextSize());
+        paint.setTextAlign(seriesRenderer.getAnnotationsTextAlign());
+        drawAnnotations(canvas, annotations, paint, left, top, right, bottom,
+            xPixelsPerUnit[scale], yPixelsPerUnit[scale], minX[scale], maxX[scale], minY[scale]);
+      }
 
-        if (points.size() > 0) {
-          drawSeries(series, canvas, paint, points, seriesRenderer, yAxisValue, i, or, startIndex);
-          ClickableArea[] clickableAreasForSubSeries = clickableAreasForPoints(points, values,
-              yAxisValue, i, startIndex);
-          clickableArea.addAll(Arrays.asList(clickableAreasForSubSeries));
-        }
+      if (subSeries.size() > 0) {
+        drawSubSeries(series, canvas, paint, subSeries, seriesRenderer, yAxisValue, i, or,
+            right - left, clickableArea);
       }
     }
     // draw stuff over the margins so that data doesn't render on these areas
@@ -510,6 +517,41 @@ public abstract class XYChart extends AbstractChart {
     }
   }
 
+  /**
+   * Sets the Y axis ranges to the extremes of the values visible in the given
+   * X axis range. The scales having no visible values keep their range. The
+   * drawn ranges are kept in the calculated ranges only, the renderer is not
+   * modified while drawing, the pan and zoom tools start from them instead.
+   * 
+   * @param minX the visible X axis minimum
+   * @param maxX the visible X axis maximum
+   * @param minY the Y axis minimums, one per scale
+   * @param maxY the Y axis maximums, one per scale
+   * @param maxScaleNumber the number of scales
+   */
+  private void fitYToVisibleX(double minX, double maxX, double[] minY, double[] maxY,
+      int maxScaleNumber) {
+    double[] fitMinY = new double[maxScaleNumber];
+    double[] fitMaxY = new double[maxScaleNumber];
+    Arrays.fill(fitMinY, MathHelper.NULL_VALUE);
+    Arrays.fill(fitMaxY, -MathHelper.NULL_VALUE);
+    int sLength = mDataset.getSeriesCount();
+    for (int i = 0; i < sLength; i++) {
+      XYSeries series = mDataset.getSeriesAt(i);
+      int scale = series.getScaleNumber();
+      fitMinY[scale] = Math.min(fitMinY[scale], series.getMinY(minX, maxX));
+      fitMaxY[scale] = Math.max(fitMaxY[scale], series.getMaxY(minX, maxX));
+    }
+    for (int i = 0; i < maxScaleNumber; i++) {
+      if (fitMinY[i] <= fitMaxY[i]) {
+        minY[i] = fitMinY[i];
+        maxY[i] = fitMaxY[i];
+      }
+      mCalcRange.get(i)[2] = minY[i];
+      mCalcRange.get(i)[3] = maxY[i];
+    }
+  }
+
   protected List<Double> getXLabels(double min, double max, int count) {
     return MathHelper.getLabels(min, max, count);
   }
@@ -541,6 +583,138 @@ public abstract class XYChart extends AbstractChart {
     return result;
   }
 
+  /**
+   * Draws a sub-series, a run of consecutive points with no null values in
+   * between, and adds its clickable areas. The points are passed through the
+   * series decimator first, if any, and only the kept points are boxed for the
+   * drawing stages.
+   * 
+   * @param series the series
+   * @param canvas the canvas
+   * @param paint the paint object
+   * @param subSeries the points to be rendered
+   * @param seriesRenderer the series renderer
+   * @param yAxisValue the y axis value in pixels
+   * @param seriesIndex the series index
+   * @param or the orientation
+   * @param width the width of the chart area
+   * @param clickableArea the series clickable areas
+   */
+  private void drawSubSeries(XYSeries series, Canvas canvas, Paint paint, SubSeries subSeries,
+      XYSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, Orientation or,
+      int width, List<ClickableArea> clickableArea) {
+    int[] kept = null;
+    Decimator decimator = seriesRenderer.getDecimator();
+    if (decimator != null) {
+      kept = decimator.decimate(subSeries.mPoints, subSeries.mValues, subSeries.mSize, width);
+    }
+    int length = kept != null ? kept.length : subSeries.mSize;
+    List<Float> points = new ArrayList<Float>(2 * length);
+    List<Double> values = new ArrayList<Double>(2 * length);
+    int[] indexes = new int[length];
+    for (int j = 0; j < length; j++) {
+      int position = kept != null ? kept[j] : j;
+      points.add(subSeries.mPoints[2 * position]);
+      points.add(subSeries.mPoints[2 * position + 1]);
+      values.add(subSeries.mValues[2 * position]);
+      values.add(subSeries.mValues[2 * position + 1]);
+      indexes[j] = subSeries.mIndexes[position];
+    }
+    drawSeries(series, canvas, paint, points, seriesRenderer, yAxisValue, seriesIndex, or,
+        indexes, isConsecutive(indexes));
+    ClickableArea[] clickableAreasForSubSeries = clickableAreasForPoints(series, points, values,
+        yAxisValue, seriesIndex, indexes);
+    if (clickableAreasForSubSeries.length == indexes.length) {
+      // the point index reported on selection is the one in the series
+      for (int j = 0; j < indexes.length; j++) {
+        if (clickableAreasForSubSeries[j] != null) {
+          clickableAreasForSubSeries[j].setIndex(indexes[j]);
+        }
+      }
+    }
+    clickableArea.addAll(Arrays.asList(clickableAreasForSubSeries));
+  }
+
+  /**
+   * Draws the annotations visible in the chart area. Only the annotations in
+   * the visible X range, widened by the longest text, are looked at. Their
+   * text bounds are measured once and cached in the annotations.
+   * 
+   * @param canvas the canvas to paint to
+   * @param annotations the annotations
+   * @param paint the paint, set up for the annotations text
+   * @param left the left of the chart area
+   * @param top the top of the chart area
+   * @param right the right of the chart area
+   * @param bottom the bottom of the chart area
+   * @param xPixelsPerUnit the number of pixels per unit on the X axis
+   * @param yPixelsPerUnit the number of pixels per unit on the Y axis
+   * @param minX the minimum visible X value
+   * @param maxX the maximum visible X value
+   * @param minY the minimum visible Y value
+   */
+  private void drawAnnotations(Canvas canvas, AnnotationArray annotations, Paint paint,
+      int left, int top, int right, int bottom, double xPixelsPerUnit, double yPixelsPerUnit,
+      double minX, double maxX, double minY) {
+    int style = 31 * Float.floatToIntBits(paint.getTextSize())
+        + System.identityHashCode(paint.getTypeface());
+    // a text is not wider than its length times the text size, so an
+    // annotation outside this X range cannot reach the chart area, an empty
+    // or degenerate X range has no margin
+    double margin = xPixelsPerUnit > 0 ? annotations.getMaxLength() * paint.getTextSize()
+        / xPixelsPerUnit : 0;
+    Rect bound = new Rect();
+    synchronized (annotations) {
+      int[] window = annotations.getIndexWindow(minX - margin, maxX + margin);
+      for (int j = window[0]; j < window[1]; j++) {
+        float xS = (float) (left + xPixelsPerUnit * (annotations.getX(j) - minX));
+        float yS = (float) (bottom - yPixelsPerUnit * (annotations.getY(j) - minY));
+        String text = annotations.getText(j);
+        float width = annotations.getWidth(j, style);
+        float height = annotations.getHeight(j, style);
+        if (width < 0) {
+          paint.getTextBounds(text, 0, text.length(), bound);
+          width = bound.width();
+          height = bound.height();
+          annotations.setBounds(j, style, width, height);
+        }
+        if (width > 0 && xS + width >= left && xS - width <= right && yS + height >= top
+            && yS - height <= bottom) {
+          drawString(canvas, text, xS, yS, paint);
+        }
+      }
+    }
+  }
+
+  /**
+   * Draws the series, using the overload taking the start index when the
+   * points are consecutive series values, such as the subclasses overriding
+   * it are still called.
+   * 
+   * @param series the series
+   * @param canvas the canvas
+   * @param paint the paint object
+   * @param pointsList the points to be rendered
+   * @param seriesRenderer the series renderer
+   * @param yAxisValue the y axis value in pixels
+   * @param seriesIndex the series index
+   * @param or the orientation
+   * @param indexes the series indexes of the rendering points
+   * @param consecutive if the points are consecutive series values
+   */
+  @SuppressWarnings("deprecation")
+  protected void drawSeries(XYSeries series, Canvas canvas, Paint paint, List<Float> pointsList,
+      XYSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, Orientation or,
+      int[] indexes, boolean consecutive) {
+    if (consecutive) {
+      drawSeries(series, canvas, paint, pointsList, seriesRenderer, yAxisValue, seriesIndex, or,
+          getStartIndex(indexes));
+    } else {
+      drawSeries(series, canvas, paint, pointsList, seriesRenderer, yAxisValue, seriesIndex, or,
+          indexes);
+    }
+  }
+
   /**
    * Draws the series.
    * 
@@ -553,10 +727,36 @@ public abstract class XYChart extends AbstractChart {
    * @param seriesIndex the series index
    * @param or the orientation
    * @param startIndex the start index of the rendering points
+   * @deprecated the points are not always consecutive series values, override
+   *             {@link #drawSeries(XYSeries, Canvas, Paint, List, XYSeriesRenderer,
+   *             float, int, Orientation, int[])} instead. This method is still
+   *             called when they are.
    */
+  @Deprecated
   protected void drawSeries(XYSeries series, Canvas canvas, Paint paint, List<Float> pointsList,
       XYSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, Orientation or,
       int startIndex) {
+    drawSeries(series, canvas, paint, pointsList, seriesRenderer, yAxisValue, seriesIndex, or,
+        getIndexes(startIndex, pointsList.size() / 2));
+  }
+
+  /**
+   * Draws the series.
+   * 
+   * @param series the series
+   * @param canvas the canvas
+   * @param paint the paint object
+   * @param pointsList the points to be rendered
+   * @param seriesRenderer the series renderer
+   * @param yAxisValue the y axis value in pixels
+   * @param seriesIndex the series index
+   * @param or the orientation
+   * @param indexes the series indexes of the rendering points
+   */
+  @SuppressWarnings("deprecation")
+  protected void drawSeries(XYSeries series, Canvas canvas, Paint paint, List<Float> pointsList,
+      XYSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, Orientation or,
+      int[] indexes) {
     BasicStroke stroke = seriesRenderer.getStroke();
     Cap cap = paint.getStrokeCap();
     Join join = paint.getStrokeJoin();
@@ -572,8 +772,9 @@ public abstract class XYChart extends AbstractChart {
           effect, paint);
     }
     // float[] points = MathHelper.getFloats(pointsList);
-    drawSeries(canvas, paint, pointsList, seriesRenderer, yAxisValue, seriesIndex, startIndex);
-    drawPoints(canvas, paint, pointsList, seriesRenderer, yAxisValue, seriesIndex, startIndex);
+    drawSeries(series, canvas, paint, pointsList, seriesRenderer, yAxisValue, seriesIndex, indexes);
+    drawPoints(canvas, paint, pointsList, seriesRenderer, yAxisValue, seriesIndex,
+        getStartIndex(indexes));
     paint.setTextSize(seriesRenderer.getChartValuesTextSize());
     if (or == Orientation.HORIZONTAL) {
       paint.setTextAlign(Align.CENTER);
@@ -582,14 +783,97 @@ public abstract class XYChart extends AbstractChart {
     }
     if (seriesRenderer.isDisplayChartValues()) {
       paint.setTextAlign(seriesRenderer.getChartValuesTextAlign());
-      drawChartValuesText(canvas, series, seriesRenderer, paint, pointsList, seriesIndex,
-          startIndex);
+      if (isConsecutive(indexes)) {
+        drawChartValuesText(canvas, series, seriesRenderer, paint, pointsList, seriesIndex,
+            getStartIndex(indexes));
+      } else {
+        drawChartValuesText(canvas, series, seriesRenderer, paint, pointsList, seriesIndex,
+            indexes);
+      }
     }
     if (stroke != null) {
       setStroke(cap, join, miter, style, pathEffect, paint);
     }
   }
 
+  /**
+   * The graphical representation of a series, knowing the series values. The
+   * points are not always consecutive series values, like when the level of
+   * detail or a decimator is used, so the values of a point must be read at
+   * its index. It draws the series using
+   * {@link #drawSeries(Canvas, Paint, List, XYSeriesRenderer, float, int, int)}
+   * by default.
+   * 
+   * @param series the series, which may be a snapshot of the dataset one
+   * @param canvas the canvas to paint to
+   * @param paint the paint to be used for drawing
+   * @param points the array of points to be used for drawing the series
+   * @param seriesRenderer the series renderer
+   * @param yAxisValue the minimum value of the y axis
+   * @param seriesIndex the index of the series currently being drawn
+   * @param indexes the series indexes of the rendering points
+   */
+  protected void drawSeries(XYSeries series, Canvas canvas, Paint paint, List<Float> points,
+      XYSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int[] indexes) {
+    drawSeries(canvas, paint, points, seriesRenderer, yAxisValue, seriesIndex,
+        getStartIndex(indexes));
+  }
+
+  /**
+   * Returns the clickable areas for all passed points, knowing the series
+   * values. It uses
+   * {@link #clickableAreasForPoints(List, List, float, int, int)} by default.
+   * 
+   * @param series the series, which may be a snapshot of the dataset one
+   * @param points the array of points
+   * @param values the array of values of each point
+   * @param yAxisValue the minimum value of the y axis
+   * @param seriesIndex the index of the series to which the points belong
+   * @param indexes the series indexes of the points
+   * @return an array of rectangles with the clickable area
+   */
+  protected ClickableArea[] clickableAreasForPoints(XYSeries series, List<Float> points,
+      List<Double> values, float yAxisValue, int seriesIndex, int[] indexes) {
+    return clickableAreasForPoints(points, values, yAxisValue, seriesIndex,
+        getStartIndex(indexes));
+  }
+
+  /**
+   * Returns the series index of the first rendering point.
+   * 
+   * @param indexes the series indexes of the rendering points
+   * @return the index of the first point, 0 if there are no points
+   */
+  protected static int getStartIndex(int[] indexes) {
+    return indexes.length > 0 ? indexes[0] : 0;
+  }
+
+  /**
+   * Returns if the rendering points are consecutive series values.
+   * 
+   * @param indexes the series indexes of the rendering points
+   * @return if the points are consecutive
+   */
+  protected static boolean isConsecutive(int[] indexes) {
+    int length = indexes.length;
+    return length == 0 || indexes[length - 1] - indexes[0] == length - 1;
+  }
+
+  /**
+   * Returns the series indexes of consecutive rendering points.
+   * 
+   * @param startIndex the index of the first point
+   * @param length the number of points
+   * @return the points indexes
+   */
+  protected static int[] getIndexes(int startIndex, int length) {
+    int[] indexes = new int[length];
+    for (int i = 0; i < length; i++) {
+      indexes[i] = startIndex + i;
+    }
+    return indexes;
+  }
+
   /**
    * Draws the series points.
    * 
@@ -631,9 +915,30 @@ public abstract class XYChart extends AbstractChart {
    * @param points the array of points to be used for drawing the series
    * @param seriesIndex the index of the series currently being drawn
    * @param startIndex the start index of the rendering points
+   * @deprecated the points are not always consecutive series values, override
+   *             {@link #drawChartValuesText(Canvas, XYSeries, XYSeriesRenderer,
+   *             Paint, List, int, int[])} instead. This method is still called when they are.
    */
+  @Deprecated
   protected void drawChartValuesText(Canvas canvas, XYSeries series, XYSeriesRenderer renderer,
       Paint paint, List<Float> points, int seriesIndex, int startIndex) {
+    drawChartValuesText(canvas, series, renderer, paint, points, seriesIndex,
+        getIndexes(startIndex, points.size() / 2));
+  }
+
+  /**
+   * The graphical representation of the series values as text.
+   * 
+   * @param canvas the canvas to paint to
+   * @param series the series to be painted
+   * @param renderer the series renderer
+   * @param paint the paint to be used for drawing
+   * @param points the array of points to be used for drawing the series
+   * @param seriesIndex the index of the series currently being drawn
+   * @param indexes the series indexes of the rendering points
+   */
+  protected void drawChartValuesText(Canvas canvas, XYSeries series, XYSeriesRenderer renderer,
+      Paint paint, List<Float> points, int seriesIndex, int[] indexes) {
     if (points.size() > 2) { // there are more than one point
       // record the first point's position
       float previousPointX = points.get(0);
@@ -644,11 +949,11 @@ public abstract class XYChart extends AbstractChart {
           if (Math.abs(points.get(2) - points.get(0)) > renderer.getDisplayChartValuesDistance()
               || Math.abs(points.get(3) - points.get(1)) > renderer.getDisplayChartValuesDistance()) {
             // first point
-            drawText(canvas, getLabel(renderer.getChartValuesFormat(), series.getY(startIndex)),
+            drawText(canvas, getLabel(renderer.getChartValuesFormat(), series.getY(indexes[0])),
                 points.get(0), points.get(1) - renderer.getChartValuesSpacing(), paint, 0);
             // second point
             drawText(canvas,
-                getLabel(renderer.getChartValuesFormat(), series.getY(startIndex + 1)),
+                getLabel(renderer.getChartValuesFormat(), series.getY(indexes[1])),
                 points.get(2), points.get(3) - renderer.getChartValuesSpacing(), paint, 0);
 
             previousPointX = points.get(2);
@@ -661,7 +966,7 @@ public abstract class XYChart extends AbstractChart {
               || Math.abs(points.get(k + 1) - previousPointY) > renderer
                   .getDisplayChartValuesDistance()) {
             drawText(canvas,
-                getLabel(renderer.getChartValuesFormat(), series.getY(startIndex + k / 2)),
+                getLabel(renderer.getChartValuesFormat(), series.getY(indexes[k / 2])),
                 points.get(k), points.get(k + 1) - renderer.getChartValuesSpacing(), paint, 0);
             previousPointX = points.get(k);
             previousPointY = points.get(k + 1);
@@ -671,7 +976,7 @@ public abstract class XYChart extends AbstractChart {
     } else { // if only one point, display it
       for (int k = 0; k < points.size(); k += 2) {
         drawText(canvas,
-            getLabel(renderer.getChartValuesFormat(), series.getY(startIndex + k / 2)),
+            getLabel(renderer.getChartValuesFormat(), series.getY(indexes[k / 2])),
             points.get(k), points.get(k + 1) - renderer.getChartValuesSpacing(), paint, 0);
       }
     }
@@ -886,6 +1191,21 @@ public abstract class XYChart extends AbstractChart {
     }
   }
 
+  @Override
+  public long getRenderKey() {
+    long key = mixRenderKey(0, mDataset.getVersion());
+    key = mixRenderKey(key, mRenderer.getVersion() - mDrawRendererChanges);
+    int seriesCount = mDataset.getSeriesCount();
+    for (int i = 0; i < seriesCount; i++) {
+      key = mixRenderKey(key, mDataset.getSeriesAt(i).getVersion());
+    }
+    int renderersCount = mRenderer.getSeriesRendererCount();
+    for (int i = 0; i < renderersCount; i++) {
+      key = mixRenderKey(key, mRenderer.getSeriesRendererAt(i).getVersion());
+    }
+    return key;
+  }
+
   // TODO: docs
   public XYMultipleSeriesRenderer getRenderer() {
     return mRenderer;
@@ -987,6 +1307,9 @@ public abstract class XYChart extends AbstractChart {
             if (area != null) {
               rectangle = area.getRect();
               if (rectangle != null && rectangle.contains(screenPoint.getX(), screenPoint.getY())) {
+                if (area.getIndex() >= 0) {
+                  pointIndex = area.getIndex();
+                }
                 return new SeriesSelection(seriesIndex, pointIndex, area.getX(), area.getY());
               }
             }
@@ -1067,4 +1390,55 @@ public abstract class XYChart extends AbstractChart {
    */
   public abstract String getChartType();
 
+  /**
+   * The points of a sub-series, kept in growable primitive arrays.
+   */
+  private static class SubSeries {
+    /** The screen coordinates of the points, as X and Y pairs. */
+    private float[] mPoints = new float[64];
+    /** The values of the points, as X and Y pairs. */
+    private double[] mValues = new double[64];
+    /** The series indexes of the points. */
+    private int[] mIndexes = new int[32];
+    /** The number of points. */
+    private int mSize;
+
+    public int size() {
+      return mSize;
+    }
+
+    /**
+     * Adds a point.
+     * 
+     * @param index the series index of the point
+     * @param x the X value
+     * @param y the Y value
+     * @param xPixel the X screen coordinate
+     * @param yPixel the Y screen coordinate
+     */
+    public void add(int index, double x, double y, float xPixel, float yPixel) {
+      if (mSize == mIndexes.length) {
+        int length = 2 * mSize;
+        float[] points = new float[2 * length];
+        System.arraycopy(mPoints, 0, points, 0, 2 * mSize);
+        mPoints = points;
+        double[] values = new double[2 * length];
+        System.arraycopy(mValues, 0, values, 0, 2 * mSize);
+        mValues = values;
+        int[] indexes = new int[length];
+        System.arraycopy(mIndexes, 0, indexes, 0, mSize);
+        mIndexes = indexes;
+      }
+      mPoints[2 * mSize] = xPixel;
+      mPoints[2 * mSize + 1] = yPixel;
+      mValues[2 * mSize] = x;
+      mValues[2 * mSize + 1] = y;
+      mIndexes[mSize] = index;
+      mSize++;
+    }
+
+    public void clear() {
+      mSize = 0;
+    }
+  }
 }
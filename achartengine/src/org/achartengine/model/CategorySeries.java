@@ -15,10 +15,15 @@
  */
 package org.achartengine.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.achartengine.util.SerializationHelper;
+
 /**
  * A series for the category charts like the pie ones.
  */
@@ -28,7 +33,9 @@ public class CategorySeries implements Serializable {
   /** The series categories. */
   private List<String> mCategories = new ArrayList<String>();
   /** The series values. */
-  private List<Double> mValues = new ArrayList<Double>();
+  private transient List<Double> mValues = new ArrayList<Double>();
+  /** The series version, incremented on every change. */
+  private volatile long mVersion;
 
   /**
    * Builds a new category series.
@@ -54,6 +61,7 @@ public class CategorySeries implements Serializable {
    * @param value the new value
    */
   public synchronized void add(double value) {
+    incrementVersion();
     add(mCategories.size() + "", value);
   }
 
@@ -64,6 +72,7 @@ public class CategorySeries implements Serializable {
    * @param value the new value
    */
   public synchronized void add(String category, double value) {
+    incrementVersion();
     mCategories.add(category);
     mValues.add(value);
   }
@@ -76,6 +85,7 @@ public class CategorySeries implements Serializable {
    * @param value the new value
    */
   public synchronized void set(int index, String category, double value) {
+    incrementVersion();
     mCategories.set(index, category);
     mValues.set(index, value);
   }
@@ -86,6 +96,7 @@ public class CategorySeries implements Serializable {
    * @param index the index in the series of the value to remove
    */
   public synchronized void remove(int index) {
+    incrementVersion();
     mCategories.remove(index);
     mValues.remove(index);
   }
@@ -94,6 +105,7 @@ public class CategorySeries implements Serializable {
    * Removes all the existing values from the series.
    */
   public synchronized void clear() {
+    incrementVersion();
     mCategories.clear();
     mValues.clear();
   }
@@ -140,4 +152,33 @@ public class CategorySeries implements Serializable {
     }
     return xySeries;
   }
+
+  /**
+   * Returns the series version, incremented every time the series is modified.
+   * 
+   * @return the series version
+   */
+  public long getVersion() {
+    return mVersion;
+  }
+
+  /**
+   * Increments the series version, after the series was modified.
+   */
+  protected void incrementVersion() {
+    mVersion++;
+  }
+
+  /**
+   * Writes the values as a block of primitive values instead of boxed ones.
+   */
+  private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    SerializationHelper.writeDoubles(out, mValues);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    mValues = SerializationHelper.readDoubleList(in);
+  }
 }
@@ -0,0 +1,338 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.model;
+
+import java.util.SortedMap;
+
+import org.achartengine.util.AbstractXYArray;
+import org.achartengine.util.IndexXYMap;
+import org.achartengine.util.MathHelper;
+import org.achartengine.util.XYColumns;
+
+/**
+ * A dataset of series sampled at the same X values, like the channels of a
+ * sensor. The X values are stored once, in a column shared by all the
+ * series, and every series has its own Y column. The values are added by
+ * rows, through the dataset. As the series share the X lookups, the visible
+ * range is searched once for all of them.
+ */
+public class ColumnarXYMultipleSeriesDataset extends XYMultipleSeriesDataset {
+  /** The message of the exceptions thrown by the column series mutators. */
+  private static final String READ_ONLY = "The values are added through the dataset";
+  /** The shared X column and the Y columns. */
+  private final XYColumns mColumns;
+  /** The series built over the columns. */
+  private final ColumnXYSeries[] mColumnSeries;
+
+  /**
+   * Builds a new columnar dataset with a series for every provided title.
+   * 
+   * @param titles the series titles
+   */
+  public ColumnarXYMultipleSeriesDataset(String[] titles) {
+    this(titles, new int[titles.length]);
+  }
+
+  /**
+   * Builds a new columnar dataset with a series for every provided title.
+   * 
+   * @param titles the series titles
+   * @param scaleNumbers the series scale numbers
+   */
+  public ColumnarXYMultipleSeriesDataset(String[] titles, int[] scaleNumbers) {
+    mColumns = new XYColumns(titles.length);
+    mColumnSeries = new ColumnXYSeries[titles.length];
+    for (int column = 0; column < titles.length; column++) {
+      mColumnSeries[column] = new ColumnXYSeries(titles[column], scaleNumbers[column], mColumns,
+          column);
+      addSeries(mColumnSeries[column]);
+    }
+  }
+
+  /**
+   * Returns the number of Y columns, the number of series built with the
+   * dataset.
+   * 
+   * @return the columns count
+   */
+  public int getColumnCount() {
+    return mColumns.getColumnCount();
+  }
+
+  /**
+   * Returns the number of rows.
+   * 
+   * @return the rows count
+   */
+  public int getRowCount() {
+    return mColumns.size();
+  }
+
+  /**
+   * Adds a new row of values. The X value must be greater than the ones
+   * already added.
+   * 
+   * @param x the X value
+   * @param y the Y value of every column
+   */
+  public void add(double x, double[] y) {
+    int count;
+    synchronized (mColumns) {
+      count = mColumns.size();
+      mColumns.add(x, y);
+    }
+    // the listeners are notified out of the columns lock, as they may read
+    // the series while the drawing thread takes their snapshots
+    notifyValuesAppended(count, count + 1);
+  }
+
+  /**
+   * Adds the provided rows of values. The X values must be increasing and
+   * greater than the ones already added.
+   * 
+   * @param x the X values
+   * @param y the Y values, one array for every column
+   * @param offset the offset of the first row in the provided arrays
+   * @param length the number of rows to add
+   */
+  public void addAll(double[] x, double[][] y, int offset, int length) {
+    int count;
+    synchronized (mColumns) {
+      count = mColumns.size();
+      mColumns.addAll(x, y, offset, length);
+    }
+    notifyValuesAppended(count, count + length);
+  }
+
+  /**
+   * Makes sure the columns can hold the given number of rows without
+   * reallocating their storage.
+   * 
+   * @param capacity the minimum number of rows
+   */
+  public void ensureCapacity(int capacity) {
+    mColumns.ensureCapacity(capacity);
+  }
+
+  /**
+   * Removes all the rows of values.
+   */
+  public void clearValues() {
+    mColumns.clear();
+    for (ColumnXYSeries series : mColumnSeries) {
+      series.notifySeriesChanged();
+    }
+  }
+
+  /**
+   * Notifies the listeners of every column series that rows were appended.
+   * 
+   * @param start the index of the first appended row
+   * @param end the index after the last appended row
+   */
+  private void notifyValuesAppended(int start, int end) {
+    if (start < end) {
+      for (ColumnXYSeries series : mColumnSeries) {
+        series.notifyValuesAppended(start, end);
+      }
+    }
+  }
+
+  /**
+   * A read only series over a column, taking its range from the columns. The
+   * values are read under the columns lock only, never under the series one,
+   * such as the columns and series locks are not taken in opposite orders.
+   */
+  private static class ColumnXYSeries extends XYSeries {
+    /** The columns. */
+    private final XYColumns mColumns;
+    /** The Y column of the series. */
+    private final int mColumn;
+    /** The view over the column values. */
+    private final AbstractXYArray mValues;
+
+    public ColumnXYSeries(String title, int scaleNumber, XYColumns columns, int column) {
+      this(title, scaleNumber, columns, column, columns.getColumn(column));
+    }
+
+    private ColumnXYSeries(String title, int scaleNumber, XYColumns columns, int column,
+        AbstractXYArray values) {
+      super(title, scaleNumber, values);
+      mColumns = columns;
+      mColumn = column;
+      mValues = values;
+    }
+
+    @Override
+    public XYSeries snapshot(boolean rangeIndex) {
+      synchronized (mColumns) {
+        return createSnapshot(mColumns.snapshot(mColumn, rangeIndex));
+      }
+    }
+
+    @Override
+    public void add(double x, double y) {
+      throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public void add(int index, double x, double y) {
+      throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public void addAll(double[] x, double[] y, int offset, int length) {
+      throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public void remove(int index) {
+      throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+      throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public void trimBefore(double x) {
+      throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public void clear() {
+      throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public void clearSeriesValues() {
+      throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    @Deprecated
+    public IndexXYMap<Double, Double> getXYMap() {
+      synchronized (mColumns) {
+        IndexXYMap<Double, Double> map = new IndexXYMap<Double, Double>();
+        int length = mColumns.size();
+        for (int k = 0; k < length; k++) {
+          map.put(mColumns.getX(k), mColumns.getY(mColumn, k));
+        }
+        return map;
+      }
+    }
+
+    @Override
+    public double getX(int index) {
+      return mColumns.getX(index);
+    }
+
+    @Override
+    public double getY(int index) {
+      return mColumns.getY(mColumn, index);
+    }
+
+    @Override
+    public SortedMap<Double, Double> getRange(double start, double stop,
+        boolean beforeAfterPoints) {
+      synchronized (mColumns) {
+        int[] window = mValues.getIndexWindow(start, stop, beforeAfterPoints);
+        return mValues.subMap(window[0], window[1]);
+      }
+    }
+
+    @Override
+    public int[] getIndexWindow(double start, double stop, boolean beforeAfterPoints) {
+      synchronized (mColumns) {
+        return mValues.getIndexWindow(start, stop, beforeAfterPoints);
+      }
+    }
+
+    @Override
+    public int[] getLevelOfDetail(double start, double stop, boolean beforeAfterPoints,
+        int buckets) {
+      synchronized (mColumns) {
+        int[] window = mValues.getIndexWindow(start, stop, beforeAfterPoints);
+        return mValues.getLevelOfDetail(window[0], window[1], buckets);
+      }
+    }
+
+    @Override
+    public int getIndexForKey(double key) {
+      return mValues.getIndexForKey(key);
+    }
+
+    @Override
+    public int getItemCount() {
+      return mColumns.size();
+    }
+
+    @Override
+    public double getMinY(double start, double stop) {
+      synchronized (mColumns) {
+        int index = mColumns.getExtremeYIndex(mColumn, mColumns.getCeilingIndex(start),
+            mColumns.getHigherIndex(stop), false);
+        return index < 0 ? MathHelper.NULL_VALUE : mColumns.getY(mColumn, index);
+      }
+    }
+
+    @Override
+    public double getMaxY(double start, double stop) {
+      synchronized (mColumns) {
+        int index = mColumns.getExtremeYIndex(mColumn, mColumns.getCeilingIndex(start),
+            mColumns.getHigherIndex(stop), true);
+        return index < 0 ? -MathHelper.NULL_VALUE : mColumns.getY(mColumn, index);
+      }
+    }
+
+    @Override
+    public long getVersion() {
+      return super.getVersion() + mColumns.getVersion();
+    }
+
+    @Override
+    public double getMinX() {
+      synchronized (mColumns) {
+        return mColumns.size() > 0 ? mColumns.getX(0) : MathHelper.NULL_VALUE;
+      }
+    }
+
+    @Override
+    public double getMaxX() {
+      synchronized (mColumns) {
+        int size = mColumns.size();
+        return size > 0 ? mColumns.getX(size - 1) : -MathHelper.NULL_VALUE;
+      }
+    }
+
+    @Override
+    public double getMinY() {
+      synchronized (mColumns) {
+        int index = mColumns.getExtremeYIndex(mColumn, 0, mColumns.size(), false);
+        return index < 0 ? MathHelper.NULL_VALUE : mColumns.getY(mColumn, index);
+      }
+    }
+
+    @Override
+    public double getMaxY() {
+      synchronized (mColumns) {
+        int index = mColumns.getExtremeYIndex(mColumn, 0, mColumns.size(), true);
+        return index < 0 ? -MathHelper.NULL_VALUE : mColumns.getY(mColumn, index);
+      }
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.model;
+
+import org.achartengine.util.CompressedXYArray;
+
+/**
+ * A date / time series keeping its values compressed in memory, for long
+ * retention windows. The timestamps are encoded as deltas of deltas and the
+ * values as the XOR with the previous value, in blocks that range queries
+ * skip without decoding them. Samples taken at near constant intervals use a
+ * small fraction of the memory of a {@link TimeSeries}, at the cost of
+ * slower insertions and removals in the middle of the series.
+ */
+public class CompressedTimeSeries extends TimeSeries {
+  /** The compressed values. */
+  private final CompressedXYArray mValues;
+
+  /**
+   * Builds a new compressed date / time series.
+   * 
+   * @param title the series title
+   */
+  public CompressedTimeSeries(String title) {
+    this(title, CompressedXYArray.DEFAULT_BLOCK_SIZE);
+  }
+
+  /**
+   * Builds a new compressed date / time series.
+   * 
+   * @param title the series title
+   * @param blockSize the number of values in a compressed block
+   */
+  public CompressedTimeSeries(String title, int blockSize) {
+    this(title, new CompressedXYArray(blockSize));
+  }
+
+  private CompressedTimeSeries(String title, CompressedXYArray values) {
+    super(title, values);
+    mValues = values;
+  }
+
+  /**
+   * Returns the number of bytes used by the compressed values.
+   * 
+   * @return the compressed size in bytes
+   */
+  public synchronized long getEncodedSize() {
+    return mValues.getEncodedSize();
+  }
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.model;
+
+import java.util.SortedMap;
+
+import org.achartengine.util.AbstractXYArray;
+import org.achartengine.util.ConcurrentXYArray;
+import org.achartengine.util.MathHelper;
+
+/**
+ * An append only XY series for a single writer thread, like a sensor ingest
+ * thread, and any number of reader threads, like the rendering one. The
+ * values are published through volatile fields and neither the writer nor
+ * the readers take the series lock. The values must be added in increasing X
+ * order; inserting or removing values is not supported, but the series can
+ * be cleared by the writer.
+ */
+public class ConcurrentXYSeries extends XYSeries {
+  /** The published values. */
+  private final ConcurrentXYArray mValues;
+
+  /**
+   * Builds a new concurrent XY series.
+   * 
+   * @param title the series title
+   */
+  public ConcurrentXYSeries(String title) {
+    this(title, 0);
+  }
+
+  /**
+   * Builds a new concurrent XY series.
+   * 
+   * @param title the series title
+   * @param scaleNumber the series scale number
+   */
+  public ConcurrentXYSeries(String title, int scaleNumber) {
+    this(title, scaleNumber, new ConcurrentXYArray());
+  }
+
+  private ConcurrentXYSeries(String title, int scaleNumber, ConcurrentXYArray values) {
+    super(title, scaleNumber, values);
+    mValues = values;
+  }
+
+  /**
+   * Appends a new value to the series. To be called by the writer thread
+   * only.
+   * 
+   * @param x the value for the X axis, greater than the ones in the series
+   * @param y the value for the Y axis
+   */
+  @Override
+  public void add(double x, double y) {
+    incrementVersion();
+    int count = mValues.size();
+    mValues.put(count, x, y);
+    notifyValuesAppended(count, count + 1);
+  }
+
+  /**
+   * Appends the provided values to the series, publishing them at once. To be
+   * called by the writer thread only.
+   * 
+   * @param x the values for the X axis, increasing and greater than the ones in
+   *          the series
+   * @param y the values for the Y axis
+   * @param offset the offset of the first value in the provided arrays
+   * @param length the number of values to add
+   */
+  @Override
+  public void addAll(double[] x, double[] y, int offset, int length) {
+    if (offset < 0 || length < 0 || offset + length > x.length || offset + length > y.length) {
+      throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + length);
+    }
+    if (length == 0) {
+      return;
+    }
+    incrementVersion();
+    int count = mValues.size();
+    mValues.putAll(x, y, offset, length);
+    notifyValuesAppended(count, count + length);
+  }
+
+  /**
+   * Makes sure the series can hold the given number of values without
+   * reallocating its storage. To be called by the writer thread only.
+   * 
+   * @param capacity the minimum number of values
+   */
+  @Override
+  public void ensureCapacity(int capacity) {
+    mValues.ensureCapacity(capacity);
+  }
+
+  /**
+   * Removes all the existing values from the series but annotations. To be
+   * called by the writer thread only.
+   */
+  @Override
+  public void clearSeriesValues() {
+    incrementVersion();
+    mValues.clear();
+    notifySeriesChanged();
+  }
+
+  @Override
+  public double getX(int index) {
+    return mValues.getXByIndex(index);
+  }
+
+  @Override
+  public double getY(int index) {
+    return mValues.getYByIndex(index);
+  }
+
+  @Override
+  public int getItemCount() {
+    return mValues.size();
+  }
+
+  @Override
+  public int getIndexForKey(double key) {
+    return mValues.getIndexForKey(key);
+  }
+
+  @Override
+  public SortedMap<Double, Double> getRange(double start, double stop, boolean beforeAfterPoints) {
+    AbstractXYArray values = mValues.snapshot(false);
+    int[] window = values.getIndexWindow(start, stop, beforeAfterPoints);
+    return values.subMap(window[0], window[1]);
+  }
+
+  @Override
+  public int[] getIndexWindow(double start, double stop, boolean beforeAfterPoints) {
+    return mValues.snapshot(false).getIndexWindow(start, stop, beforeAfterPoints);
+  }
+
+  @Override
+  public int[] getLevelOfDetail(double start, double stop, boolean beforeAfterPoints, int buckets) {
+    AbstractXYArray values = mValues.snapshot(true);
+    int[] window = values.getIndexWindow(start, stop, beforeAfterPoints);
+    return values.getLevelOfDetail(window[0], window[1], buckets);
+  }
+
+  @Override
+  public double getMinX() {
+    AbstractXYArray values = mValues.snapshot(false);
+    return values.size() > 0 ? values.getXByIndex(0) : MathHelper.NULL_VALUE;
+  }
+
+  @Override
+  public double getMaxX() {
+    AbstractXYArray values = mValues.snapshot(false);
+    int size = values.size();
+    return size > 0 ? values.getXByIndex(size - 1) : -MathHelper.NULL_VALUE;
+  }
+
+  @Override
+  public double getMinY() {
+    return mValues.getMinY();
+  }
+
+  @Override
+  public double getMaxY() {
+    return mValues.getMaxY();
+  }
+
+  @Override
+  public double getMinY(double start, double stop) {
+    AbstractXYArray values = mValues.snapshot(true);
+    int index = values.getMinYIndex(values.getCeilingIndex(start), values.getHigherIndex(stop));
+    return index < 0 ? MathHelper.NULL_VALUE : values.getYByIndex(index);
+  }
+
+  @Override
+  public double getMaxY(double start, double stop) {
+    AbstractXYArray values = mValues.snapshot(true);
+    int index = values.getMaxYIndex(values.getCeilingIndex(start), values.getHigherIndex(stop));
+    return index < 0 ? -MathHelper.NULL_VALUE : values.getYByIndex(index);
+  }
+}
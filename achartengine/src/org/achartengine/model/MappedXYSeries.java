@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.model;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.achartengine.util.MappedXYArray;
+
+/**
+ * A read only XY series backed by a memory mapped file, for datasets larger
+ * than the heap. The visible range is found using a binary search on the
+ * mapped X values and the chart reads the values straight from the mapping,
+ * such as only the file pages of the displayed values are loaded. The file is
+ * written using {@link org.achartengine.util.MappedXYWriter}.
+ */
+public class MappedXYSeries extends XYSeries {
+  /** The mapped values. */
+  private final MappedXYArray mValues;
+
+  /**
+   * Builds a new mapped XY series.
+   *
+   * @param title the series title
+   * @param file the values file
+   * @throws IOException if the file cannot be read or has an unknown format
+   */
+  public MappedXYSeries(String title, File file) throws IOException {
+    this(title, 0, file);
+  }
+
+  /**
+   * Builds a new mapped XY series.
+   *
+   * @param title the series title
+   * @param scaleNumber the series scale number
+   * @param file the values file
+   * @throws IOException if the file cannot be read or has an unknown format
+   */
+  public MappedXYSeries(String title, int scaleNumber, File file) throws IOException {
+    this(title, scaleNumber, new MappedXYArray(file));
+  }
+
+  private MappedXYSeries(String title, int scaleNumber, MappedXYArray values) {
+    super(title, scaleNumber, values);
+    mValues = values;
+  }
+
+  /**
+   * Returns the mapped file.
+   *
+   * @return the mapped file
+   */
+  public File getFile() {
+    return mValues.getFile();
+  }
+
+  @Override
+  public double getMinX() {
+    return mValues.getMinX();
+  }
+
+  @Override
+  public double getMaxX() {
+    return mValues.getMaxX();
+  }
+
+  @Override
+  public double getMinY() {
+    return mValues.getMinY();
+  }
+
+  @Override
+  public double getMaxY() {
+    return mValues.getMaxY();
+  }
+}
@@ -31,6 +31,8 @@ public class MultipleCategorySeries implements Serializable {
   private List<String[]> mTitles = new ArrayList<String[]>();
   /** The series values. */
   private List<double[]> mValues = new ArrayList<double[]>();
+  /** The series version, incremented on every change. */
+  private volatile long mVersion;
 
   /**
    * Builds a new category series.
@@ -48,6 +50,7 @@ public class MultipleCategorySeries implements Serializable {
    * @param values the new value
    */
   public void add(String[] titles, double[] values) {
+    incrementVersion();
     add(mCategories.size() + "", titles, values);
   }
 
@@ -59,6 +62,7 @@ public class MultipleCategorySeries implements Serializable {
    * @param values the new value
    */
   public void add(String category, String[] titles, double[] values) {
+    incrementVersion();
     mCategories.add(category);
     mTitles.add(titles);
     mValues.add(values);
@@ -70,6 +74,7 @@ public class MultipleCategorySeries implements Serializable {
    * @param index the index in the series of the value to remove
    */
   public void remove(int index) {
+    incrementVersion();
     mCategories.remove(index);
     mTitles.remove(index);
     mValues.remove(index);
@@ -79,6 +84,7 @@ public class MultipleCategorySeries implements Serializable {
    * Removes all the existing values from the series.
    */
   public void clear() {
+    incrementVersion();
     mCategories.clear();
     mTitles.clear();
     mValues.clear();
@@ -142,4 +148,20 @@ public class MultipleCategorySeries implements Serializable {
     XYSeries xySeries = new XYSeries(mTitle);
     return xySeries;
   }
+
+  /**
+   * Returns the series version, incremented every time the series is modified.
+   * 
+   * @return the series version
+   */
+  public long getVersion() {
+    return mVersion;
+  }
+
+  /**
+   * Increments the series version, after the series was modified.
+   */
+  protected void incrementVersion() {
+    mVersion++;
+  }
 }
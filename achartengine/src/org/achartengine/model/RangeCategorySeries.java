@@ -15,14 +15,20 @@
  */
 package org.achartengine.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.List;
+
+import org.achartengine.util.SerializationHelper;
+
 /**
  * A series for the range category charts like the range bar.
  */
 public class RangeCategorySeries extends CategorySeries {
   /** The series values. */
-  private List<Double> mMaxValues = new ArrayList<Double>();
+  private transient List<Double> mMaxValues = new ArrayList<Double>();
   /**
    * Builds a new category series.
    * 
@@ -108,4 +114,18 @@ public class RangeCategorySeries extends CategorySeries {
     }
     return xySeries;
   }
+
+  /**
+   * Writes the maximum values as a block of primitive values instead of boxed
+   * ones.
+   */
+  private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    SerializationHelper.writeDoubles(out, mMaxValues);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    mMaxValues = SerializationHelper.readDoubleList(in);
+  }
 }
@@ -0,0 +1,462 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.model;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.TimeZone;
+
+import org.achartengine.util.MathHelper;
+
+/**
+ * A date / time series holding aggregates of the values of a source series,
+ * over calendar aligned time buckets. The bucket interval, from a second to a
+ * day, is picked from the visible time span such as the number of buckets is
+ * limited. The buckets of every used interval are cached and updated as
+ * values are appended to the source, such as switching the interval back
+ * does not aggregate the source values again.
+ * <p>
+ * The time charts set the visible span of the resampled series they draw.
+ * When the first source values are removed, like by a retention policy, the
+ * buckets before the first remaining value are removed, but the first bucket
+ * may still aggregate removed values.
+ */
+public class ResampledTimeSeries extends TimeSeries implements SeriesChangeListener {
+  /** The bucket intervals, in milliseconds. */
+  private static final long[] INTERVALS = { 1000, 60 * 1000, 5 * 60 * 1000, 15 * 60 * 1000,
+      60 * 60 * 1000, 6 * 60 * 60 * 1000, 24 * 60 * 60 * 1000 };
+  /** The default maximum number of buckets. */
+  private static final int DEFAULT_MAX_BUCKETS = 500;
+  /** The number of values added at once to the series. */
+  private static final int CHUNK_SIZE = 1024;
+  /** The source series. */
+  private final TimeSeries mSource;
+  /** The aggregate of the bucket values. */
+  private final Aggregate mAggregate;
+  /** The maximum number of buckets over the visible time span. */
+  private final int mMaxBuckets;
+  /** The time zone the buckets are aligned in. */
+  private final TimeZone mTimeZone;
+  /** The cached buckets of every interval, null for the unused ones. */
+  private final Buckets[] mBuckets = new Buckets[INTERVALS.length];
+  /** The position in the intervals of the current one. */
+  private int mInterval;
+  /** The number of source values processed. */
+  private int mProcessed;
+  /** The X of the first processed source value. */
+  private double mFirstX;
+  /** The X of the last processed source value. */
+  private double mLastX;
+  /** The Y of the last processed source value. */
+  private double mLastY;
+
+  /** The bucket aggregates. */
+  public enum Aggregate {
+    AVERAGE, MINIMUM, MAXIMUM, COUNT, LAST
+  }
+
+  /**
+   * Builds a new resampled series, aligned in the default time zone.
+   * 
+   * @param title the series title
+   * @param source the source series
+   * @param aggregate the aggregate of the bucket values
+   */
+  public ResampledTimeSeries(String title, TimeSeries source, Aggregate aggregate) {
+    this(title, source, aggregate, DEFAULT_MAX_BUCKETS, TimeZone.getDefault());
+  }
+
+  /**
+   * Builds a new resampled series.
+   * 
+   * @param title the series title
+   * @param source the source series
+   * @param aggregate the aggregate of the bucket values
+   * @param maxBuckets the maximum number of buckets over the visible time span
+   * @param timeZone the time zone the hour and day buckets are aligned in
+   */
+  public ResampledTimeSeries(String title, TimeSeries source, Aggregate aggregate,
+      int maxBuckets, TimeZone timeZone) {
+    super(title);
+    if (maxBuckets < 1) {
+      throw new IllegalArgumentException("The maximum number of buckets must be at least 1");
+    }
+    mSource = source;
+    mAggregate = aggregate;
+    mMaxBuckets = maxBuckets;
+    mTimeZone = timeZone;
+    synchronized (source) {
+      double span = source.getItemCount() > 0 ? source.getMaxX() - source.getMinX() : 0;
+      mInterval = getIntervalPosition(span);
+      rebuild();
+      source.addChangeListener(this);
+    }
+  }
+
+  /**
+   * Returns the source series.
+   * 
+   * @return the source series
+   */
+  public TimeSeries getSource() {
+    return mSource;
+  }
+
+  /**
+   * Returns the aggregate of the bucket values.
+   * 
+   * @return the aggregate
+   */
+  public Aggregate getAggregate() {
+    return mAggregate;
+  }
+
+  /**
+   * Returns the current bucket interval.
+   * 
+   * @return the bucket interval, in milliseconds
+   */
+  public synchronized long getInterval() {
+    return INTERVALS[mInterval];
+  }
+
+  /**
+   * Picks the bucket interval for the visible time span. The smallest interval
+   * giving at most the maximum number of buckets over the span is used.
+   * 
+   * @param span the visible time span, in milliseconds
+   */
+  public void setVisibleSpan(double span) {
+    // the source lock is taken first, like when the source notifies changes
+    synchronized (mSource) {
+      synchronized (this) {
+        int interval = getIntervalPosition(span);
+        if (interval != mInterval) {
+          mInterval = interval;
+          if (mBuckets[interval] == null) {
+            mBuckets[interval] = new Buckets(INTERVALS[interval]);
+            aggregate(0, mSource.getItemCount(), interval);
+          }
+          clearSeriesValues();
+          updateValues(0);
+        }
+      }
+    }
+  }
+
+  /**
+   * Stops listening to the source series. The series is not updated anymore.
+   */
+  public void detach() {
+    mSource.removeChangeListener(this);
+  }
+
+  @Override
+  public synchronized void valuesAppended(XYSeries source, int start, int end) {
+    if (start != mProcessed) {
+      rebuild();
+      return;
+    }
+    int changed = aggregate(start, end, -1);
+    if (changed < 0) {
+      rebuild();
+    } else if (changed < Integer.MAX_VALUE) {
+      updateValues(changed);
+    }
+  }
+
+  @Override
+  public synchronized void seriesChanged(XYSeries source) {
+    int count = mSource.getItemCount();
+    if (count > 0 && count < mProcessed && mSource.getX(0) != mFirstX
+        && mSource.getX(count - 1) == mLastX && mSource.getY(count - 1) == mLastY) {
+      // only the first source values were removed, like by a retention policy
+      mFirstX = mSource.getX(0);
+      mProcessed = count;
+      for (int i = 0; i < INTERVALS.length; i++) {
+        Buckets buckets = mBuckets[i];
+        if (buckets != null) {
+          int removed = buckets.removeBefore(align(mFirstX, INTERVALS[i]));
+          if (i == mInterval && removed > 0) {
+            removeRange(0, removed);
+          }
+        }
+      }
+    } else {
+      rebuild();
+    }
+  }
+
+  /**
+   * Returns the position of the interval to be used for the time span.
+   * 
+   * @param span the time span
+   * @return the interval position
+   */
+  private int getIntervalPosition(double span) {
+    int position = 0;
+    while (position < INTERVALS.length - 1 && span / INTERVALS[position] > mMaxBuckets) {
+      position++;
+    }
+    return position;
+  }
+
+  /**
+   * Aggregates all the source values again, in the cached buckets.
+   */
+  private void rebuild() {
+    for (int i = 0; i < INTERVALS.length; i++) {
+      if (mBuckets[i] != null || i == mInterval) {
+        mBuckets[i] = new Buckets(INTERVALS[i]);
+      }
+    }
+    mProcessed = 0;
+    aggregate(0, mSource.getItemCount(), -1);
+    clearSeriesValues();
+    updateValues(0);
+  }
+
+  /**
+   * Adds the source values in the given index range to the buckets.
+   * 
+   * @param start the index of the first source value
+   * @param end the index after the last source value
+   * @param interval the position of the only interval to be updated, or -1
+   *          for all the cached ones
+   * @return the index of the first changed bucket of the current interval,
+   *         Integer.MAX_VALUE if none, or -1 if a value was not in order
+   */
+  private int aggregate(int start, int end, int interval) {
+    int changed = Integer.MAX_VALUE;
+    if (start == 0 && end > 0) {
+      mFirstX = mSource.getX(0);
+    }
+    for (int k = start; k < end; k++) {
+      double x = mSource.getX(k);
+      double y = mSource.getY(k);
+      mLastX = x;
+      mLastY = y;
+      if (y == MathHelper.NULL_VALUE || Double.isNaN(y)) {
+        continue;
+      }
+      for (int i = 0; i < INTERVALS.length; i++) {
+        Buckets buckets = mBuckets[i];
+        if (buckets != null && (interval < 0 || i == interval)) {
+          int index = buckets.add(align(x, INTERVALS[i]), y);
+          if (index < 0) {
+            return -1;
+          }
+          if (i == mInterval) {
+            changed = Math.min(changed, index);
+          }
+        }
+      }
+    }
+    if (interval < 0) {
+      mProcessed = end;
+    }
+    return changed;
+  }
+
+  /**
+   * Replaces the series values from the given bucket with the aggregates of
+   * the current interval buckets.
+   * 
+   * @param from the index of the first changed bucket
+   */
+  private void updateValues(int from) {
+    int count = getItemCount();
+    if (from < count) {
+      removeRange(from, count);
+    }
+    Buckets buckets = mBuckets[mInterval];
+    int size = buckets.size();
+    int chunk = Math.max(1, Math.min(CHUNK_SIZE, size - from));
+    double[] x = new double[chunk];
+    double[] y = new double[chunk];
+    int length = 0;
+    for (int i = from; i < size; i++) {
+      x[length] = buckets.getStart(i);
+      y[length] = buckets.getValue(i, mAggregate);
+      length++;
+      if (length == chunk) {
+        addAll(x, y, 0, length);
+        length = 0;
+      }
+    }
+    if (length > 0) {
+      addAll(x, y, 0, length);
+    }
+  }
+
+  /**
+   * Returns the start of the bucket holding the given time. The buckets are
+   * aligned on the local time, such as the hour and day buckets start at the
+   * start of the local hours and days.
+   * 
+   * @param x the time
+   * @param interval the bucket interval
+   * @return the bucket start time
+   */
+  private double align(double x, long interval) {
+    long time = (long) Math.floor(x);
+    long local = time + mTimeZone.getOffset(time);
+    long start = local - ((local % interval) + interval) % interval;
+    // the offset at the bucket start may differ, on daylight saving days
+    return start - mTimeZone.getOffset(start - mTimeZone.getOffset(time));
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    mSource.addChangeListener(this);
+  }
+
+  /**
+   * The time buckets of an interval, holding the aggregates of their values.
+   * The removed first buckets are skipped until the arrays are compacted.
+   */
+  private static class Buckets implements Serializable {
+    /** The bucket interval. */
+    private final long mInterval;
+    /** The bucket start times. */
+    private double[] mStart = new double[16];
+    /** The number of values in every bucket. */
+    private int[] mCount = new int[16];
+    /** The sum of the values in every bucket. */
+    private double[] mSum = new double[16];
+    /** The minimum value in every bucket. */
+    private double[] mMin = new double[16];
+    /** The maximum value in every bucket. */
+    private double[] mMax = new double[16];
+    /** The last value in every bucket. */
+    private double[] mLast = new double[16];
+    /** The position in the arrays of the first bucket. */
+    private int mHead;
+    /** The position in the arrays after the last bucket. */
+    private int mTail;
+
+    public Buckets(long interval) {
+      mInterval = interval;
+    }
+
+    public int size() {
+      return mTail - mHead;
+    }
+
+    /**
+     * Adds a value to the bucket it belongs to, which must be the last one or
+     * a new one.
+     * 
+     * @param start the bucket start time
+     * @param value the value
+     * @return the index of the bucket, or -1 if the value is not in order
+     */
+    public int add(double start, double value) {
+      if (mTail > mHead) {
+        double last = mStart[mTail - 1];
+        if (start == last) {
+          int position = mTail - 1;
+          mCount[position]++;
+          mSum[position] += value;
+          mMin[position] = Math.min(mMin[position], value);
+          mMax[position] = Math.max(mMax[position], value);
+          mLast[position] = value;
+          return position - mHead;
+        } else if (start < last) {
+          return -1;
+        }
+      }
+      if (mTail == mStart.length) {
+        resize();
+      }
+      mStart[mTail] = start;
+      mCount[mTail] = 1;
+      mSum[mTail] = value;
+      mMin[mTail] = value;
+      mMax[mTail] = value;
+      mLast[mTail] = value;
+      mTail++;
+      return mTail - 1 - mHead;
+    }
+
+    /**
+     * Removes the buckets starting before the given time.
+     * 
+     * @param start the start of the first kept bucket
+     * @return the number of removed buckets
+     */
+    public int removeBefore(double start) {
+      int head = mHead;
+      while (mHead < mTail && mStart[mHead] < start) {
+        mHead++;
+      }
+      return mHead - head;
+    }
+
+    public double getStart(int index) {
+      return mStart[mHead + index];
+    }
+
+    /**
+     * Returns the aggregate of a bucket values.
+     * 
+     * @param index the bucket index
+     * @param aggregate the aggregate
+     * @return the aggregate value
+     */
+    public double getValue(int index, Aggregate aggregate) {
+      int position = mHead + index;
+      switch (aggregate) {
+      case MINIMUM:
+        return mMin[position];
+      case MAXIMUM:
+        return mMax[position];
+      case COUNT:
+        return mCount[position];
+      case LAST:
+        return mLast[position];
+      default:
+        return mSum[position] / mCount[position];
+      }
+    }
+
+    /**
+     * Moves the buckets to the start of the arrays, growing them if more than
+     * half of the arrays is used.
+     */
+    private void resize() {
+      int size = size();
+      int length = size > mStart.length / 2 ? mStart.length * 2 : mStart.length;
+      mStart = copy(mStart, length);
+      mSum = copy(mSum, length);
+      mMin = copy(mMin, length);
+      mMax = copy(mMax, length);
+      mLast = copy(mLast, length);
+      int[] count = new int[length];
+      System.arraycopy(mCount, mHead, count, 0, size);
+      mCount = count;
+      mHead = 0;
+      mTail = size;
+    }
+
+    private double[] copy(double[] values, int length) {
+      double[] copy = new double[length];
+      System.arraycopy(values, mHead, copy, 0, size());
+      return copy;
+    }
+  }
+}
@@ -0,0 +1,350 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.model;
+
+import java.io.Serializable;
+
+import org.achartengine.util.MathHelper;
+
+/**
+ * An XY series holding at most a fixed number of values. When the series is
+ * full, adding a new value evicts the oldest one. The range of the values is
+ * tracked using monotonic queues, such as adding and evicting values take
+ * amortized constant time. It is meant for streaming data displayed over a
+ * sliding window.
+ */
+public class RingXYSeries extends XYSeries {
+  /** The maximum number of values. */
+  private final int mCapacity;
+  /** The sequence number of the first value. */
+  private long mFirstSequence;
+  /** The sequence number to be assigned to the next added value. */
+  private long mNextSequence;
+  /** The minimum X value queue. */
+  private final Extreme mMinX;
+  /** The maximum X value queue. */
+  private final Extreme mMaxX;
+  /** The minimum Y value queue. */
+  private final Extreme mMinY;
+  /** The maximum Y value queue. */
+  private final Extreme mMaxY;
+
+  /**
+   * Builds a new ring XY series.
+   *
+   * @param title the series title
+   * @param capacity the maximum number of values
+   */
+  public RingXYSeries(String title, int capacity) {
+    this(title, 0, capacity);
+  }
+
+  /**
+   * Builds a new ring XY series.
+   *
+   * @param title the series title
+   * @param scaleNumber the series scale number
+   * @param capacity the maximum number of values
+   */
+  public RingXYSeries(String title, int scaleNumber, int capacity) {
+    super(title, scaleNumber);
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity must be at least 1");
+    }
+    mCapacity = capacity;
+    mMinX = new Extreme(false, false);
+    mMaxX = new Extreme(false, true);
+    mMinY = new Extreme(true, false);
+    mMaxY = new Extreme(true, true);
+    ensureCapacity(capacity);
+  }
+
+  /**
+   * Returns the maximum number of values.
+   *
+   * @return the maximum number of values
+   */
+  public int getCapacity() {
+    return mCapacity;
+  }
+
+  /**
+   * Adds a new value to the series, evicting the oldest value if the series is
+   * full.
+   *
+   * @param x the value for the X axis
+   * @param y the value for the Y axis
+   */
+  @Override
+  public synchronized void add(double x, double y) {
+    int count = getItemCount();
+    boolean append = count == 0 || x >= getX(count - 1);
+    if (count == mCapacity) {
+      evict();
+    }
+    super.add(x, y);
+    if (append) {
+      long sequence = mNextSequence++;
+      double addedX = getX(getItemCount() - 1);
+      mMinX.add(sequence, addedX);
+      mMaxX.add(sequence, addedX);
+      mMinY.add(sequence, y);
+      mMaxY.add(sequence, y);
+    } else {
+      rebuild();
+    }
+  }
+
+  /**
+   * Adds a new value to the series at the specified index, evicting the oldest
+   * value if the series is full.
+   *
+   * @param index the index to be added the data to
+   * @param x the value for the X axis
+   * @param y the value for the Y axis
+   */
+  @Override
+  public synchronized void add(int index, double x, double y) {
+    if (getItemCount() == mCapacity) {
+      evict();
+      index = Math.max(0, index - 1);
+    }
+    super.add(index, x, y);
+    rebuild();
+  }
+
+  /**
+   * Adds the provided values to the series. Only the last values fitting in
+   * the series capacity are kept, and the oldest values overflowing it are
+   * evicted in one step.
+   *
+   * @param x the values for the X axis
+   * @param y the values for the Y axis
+   * @param offset the offset of the first value in the provided arrays
+   * @param length the number of values to add
+   */
+  @Override
+  public synchronized void addAll(double[] x, double[] y, int offset, int length) {
+    if (offset < 0 || length < 0 || offset + length > x.length || offset + length > y.length) {
+      throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + length);
+    }
+    if (length > mCapacity) {
+      offset += length - mCapacity;
+      length = mCapacity;
+    }
+    int overflow = getItemCount() + length - mCapacity;
+    if (overflow > 0) {
+      super.removeRange(0, overflow);
+      for (int k = 0; k < overflow; k++) {
+        long sequence = mFirstSequence++;
+        mMinX.evict(sequence);
+        mMaxX.evict(sequence);
+        mMinY.evict(sequence);
+        mMaxY.evict(sequence);
+      }
+    }
+    int count = getItemCount();
+    int end = offset + length;
+    boolean append = length > 0 && (count == 0 || x[offset] >= getX(count - 1));
+    for (int i = offset + 1; i < end && append; i++) {
+      append = x[i] >= x[i - 1];
+    }
+    super.addAll(x, y, offset, length);
+    if (append) {
+      int newCount = getItemCount();
+      for (int k = count; k < newCount; k++) {
+        long sequence = mNextSequence++;
+        double addedX = getX(k);
+        double addedY = getY(k);
+        mMinX.add(sequence, addedX);
+        mMaxX.add(sequence, addedX);
+        mMinY.add(sequence, addedY);
+        mMaxY.add(sequence, addedY);
+      }
+    } else {
+      rebuild();
+    }
+  }
+
+  /**
+   * Removes an existing value from the series.
+   *
+   * @param index the index in the series of the value to remove
+   */
+  @Override
+  public synchronized void remove(int index) {
+    if (index == 0) {
+      evict();
+    } else {
+      super.remove(index);
+      rebuild();
+    }
+  }
+
+  /**
+   * Removes the values in the given index range.
+   * 
+   * @param fromIndex the index of the first value to remove
+   * @param toIndex the index after the last value to remove
+   */
+  @Override
+  public synchronized void removeRange(int fromIndex, int toIndex) {
+    super.removeRange(fromIndex, toIndex);
+    rebuild();
+  }
+
+  /**
+   * Removes all the existing values from the series but annotations.
+   */
+  @Override
+  public synchronized void clearSeriesValues() {
+    super.clearSeriesValues();
+    rebuild();
+  }
+
+  /**
+   * Removes the oldest value.
+   */
+  private void evict() {
+    super.remove(0);
+    long sequence = mFirstSequence++;
+    mMinX.evict(sequence);
+    mMaxX.evict(sequence);
+    mMinY.evict(sequence);
+    mMaxY.evict(sequence);
+  }
+
+  /**
+   * Builds the extreme values queues again, after values were added or
+   * removed out of order.
+   */
+  private void rebuild() {
+    mMinX.clear();
+    mMaxX.clear();
+    mMinY.clear();
+    mMaxY.clear();
+    int count = getItemCount();
+    mFirstSequence = 0;
+    mNextSequence = count;
+    for (int k = 0; k < count; k++) {
+      double x = getX(k);
+      double y = getY(k);
+      mMinX.add(k, x);
+      mMaxX.add(k, x);
+      mMinY.add(k, y);
+      mMaxY.add(k, y);
+    }
+  }
+
+  @Override
+  public synchronized double getMinX() {
+    return mMinX.get();
+  }
+
+  @Override
+  public synchronized double getMaxX() {
+    return mMaxX.get();
+  }
+
+  @Override
+  public synchronized double getMinY() {
+    return mMinY.get();
+  }
+
+  @Override
+  public synchronized double getMaxY() {
+    return mMaxY.get();
+  }
+
+  /**
+   * A monotonic queue of value sequence numbers, holding the current extreme
+   * value at its head.
+   */
+  private class Extreme implements Serializable {
+    /** If the queue tracks Y values, otherwise X values. */
+    private final boolean mY;
+    /** If the queue tracks the maximum, otherwise the minimum. */
+    private final boolean mMax;
+    /** The circular buffer of sequence numbers. */
+    private final long[] mSequences;
+    /** The position of the queue head. */
+    private int mHead;
+    /** The queue size. */
+    private int mSize;
+
+    public Extreme(boolean y, boolean max) {
+      mY = y;
+      mMax = max;
+      mSequences = new long[mCapacity];
+    }
+
+    /**
+     * Adds a value at the tail, dropping the values it dominates.
+     *
+     * @param sequence the value sequence number
+     * @param value the value
+     */
+    public void add(long sequence, double value) {
+      while (mSize > 0) {
+        double last = valueOf(mSequences[position(mSize - 1)]);
+        if (mMax ? value >= last : value <= last) {
+          mSize--;
+        } else {
+          break;
+        }
+      }
+      mSequences[position(mSize++)] = sequence;
+    }
+
+    /**
+     * Evicts the value having the given sequence number, if it is at the head.
+     *
+     * @param sequence the sequence number of the evicted value
+     */
+    public void evict(long sequence) {
+      if (mSize > 0 && mSequences[mHead] == sequence) {
+        mHead = position(1);
+        mSize--;
+      }
+    }
+
+    public void clear() {
+      mHead = 0;
+      mSize = 0;
+    }
+
+    /**
+     * Returns the extreme value.
+     *
+     * @return the extreme value
+     */
+    public double get() {
+      if (mSize == 0) {
+        return mMax ? -MathHelper.NULL_VALUE : MathHelper.NULL_VALUE;
+      }
+      return valueOf(mSequences[mHead]);
+    }
+
+    private double valueOf(long sequence) {
+      int index = (int) (sequence - mFirstSequence);
+      return mY ? getY(index) : getX(index);
+    }
+
+    private int position(int index) {
+      return (mHead + index) % mSequences.length;
+    }
+  }
+}
@@ -0,0 +1,355 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.model;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+
+import org.achartengine.util.MathHelper;
+
+/**
+ * An XY series holding a rolling statistic of the Y values of a source series,
+ * computed over a window of the last source values. The series listens to the
+ * source and is updated in constant time when values are appended to it: the
+ * mean and the variance are updated as a value enters and leaves the window,
+ * the minimum and the maximum are tracked using monotonic queues. Other source
+ * modifications build the statistic again.
+ * <p>
+ * A value is added at the X of every source value once the window is full.
+ * The null source values are skipped. The series is drawn like any other XY
+ * series, by adding it to the dataset of the chart.
+ */
+public class RollingXYSeries extends XYSeries implements SeriesChangeListener {
+  /** The number of values added at once to the series. */
+  private static final int CHUNK_SIZE = 1024;
+  /** The source series. */
+  private final XYSeries mSource;
+  /** The computed statistic. */
+  private final Statistic mStatistic;
+  /** The number of standard deviations between the mean and the bands. */
+  private final double mBandWidth;
+  /** The Y values in the window, indexed by sequence number modulo length. */
+  private final double[] mWindow;
+  /** The number of values in the window. */
+  private int mWindowSize;
+  /** The sequence number of the next value entering the window. */
+  private long mSequence;
+  /** The mean of the window values. */
+  private double mMean;
+  /** The sum of the squared differences to the mean of the window values. */
+  private double mSquares;
+  /** The minimum window value queue. */
+  private final Extreme mMin;
+  /** The maximum window value queue. */
+  private final Extreme mMax;
+  /** The number of source values processed. */
+  private int mProcessed;
+  /** The X of the first processed source value. */
+  private double mFirstX;
+  /** The X of the last processed source value. */
+  private double mLastX;
+  /** The Y of the last processed source value. */
+  private double mLastY;
+
+  /** The rolling statistics. */
+  public enum Statistic {
+    MEAN, MINIMUM, MAXIMUM, STANDARD_DEVIATION, UPPER_BAND, LOWER_BAND
+  }
+
+  /**
+   * Builds a new rolling series, with bands 2 standard deviations away from
+   * the mean.
+   * 
+   * @param title the series title
+   * @param source the source series
+   * @param statistic the computed statistic
+   * @param window the number of source values the statistic is computed over
+   */
+  public RollingXYSeries(String title, XYSeries source, Statistic statistic, int window) {
+    this(title, source, statistic, window, 2);
+  }
+
+  /**
+   * Builds a new rolling series.
+   * 
+   * @param title the series title
+   * @param source the source series
+   * @param statistic the computed statistic
+   * @param window the number of source values the statistic is computed over
+   * @param bandWidth the number of standard deviations between the mean and
+   *          the upper and lower bands
+   */
+  public RollingXYSeries(String title, XYSeries source, Statistic statistic, int window,
+      double bandWidth) {
+    super(title, source.getScaleNumber());
+    if (window < 1) {
+      throw new IllegalArgumentException("The window must be at least 1");
+    }
+    mSource = source;
+    mStatistic = statistic;
+    mBandWidth = bandWidth;
+    mWindow = new double[window];
+    mMin = new Extreme(false, window);
+    mMax = new Extreme(true, window);
+    // the X values are the source ones, in the source order
+    setDuplicateXAllowed(true);
+    synchronized (source) {
+      rebuild();
+      source.addChangeListener(this);
+    }
+  }
+
+  /**
+   * Returns the source series.
+   * 
+   * @return the source series
+   */
+  public XYSeries getSource() {
+    return mSource;
+  }
+
+  /**
+   * Returns the computed statistic.
+   * 
+   * @return the statistic
+   */
+  public Statistic getStatistic() {
+    return mStatistic;
+  }
+
+  /**
+   * Returns the number of source values the statistic is computed over.
+   * 
+   * @return the window length
+   */
+  public int getWindow() {
+    return mWindow.length;
+  }
+
+  /**
+   * Returns the number of standard deviations between the mean and the bands.
+   * 
+   * @return the band width
+   */
+  public double getBandWidth() {
+    return mBandWidth;
+  }
+
+  /**
+   * Stops listening to the source series. The series is not updated anymore.
+   */
+  public void detach() {
+    mSource.removeChangeListener(this);
+  }
+
+  @Override
+  public synchronized void valuesAppended(XYSeries source, int start, int end) {
+    if (start != mProcessed) {
+      rebuild();
+      return;
+    }
+    append(start, end);
+  }
+
+  @Override
+  public synchronized void seriesChanged(XYSeries source) {
+    int count = mSource.getItemCount();
+    if (count > 0 && count < mProcessed && mSource.getX(0) != mFirstX
+        && mSource.getX(count - 1) == mLastX && mSource.getY(count - 1) == mLastY) {
+      // only the first source values were removed, like by a retention policy,
+      // so the window is still valid
+      mFirstX = mSource.getX(0);
+      mProcessed = count;
+      trimBefore(mFirstX);
+    } else {
+      rebuild();
+    }
+  }
+
+  /**
+   * Computes the statistic again over all the source values.
+   */
+  private void rebuild() {
+    mWindowSize = 0;
+    mSequence = 0;
+    mMean = 0;
+    mSquares = 0;
+    mMin.clear();
+    mMax.clear();
+    mProcessed = 0;
+    clearSeriesValues();
+    append(0, mSource.getItemCount());
+  }
+
+  /**
+   * Processes the source values in the given index range and adds the
+   * statistic values to the series.
+   * 
+   * @param start the index of the first source value
+   * @param end the index after the last source value
+   */
+  private void append(int start, int end) {
+    if (start >= end) {
+      return;
+    }
+    if (start == 0) {
+      mFirstX = mSource.getX(0);
+    }
+    int chunk = Math.min(CHUNK_SIZE, end - start);
+    double[] x = new double[chunk];
+    double[] y = new double[chunk];
+    int length = 0;
+    for (int i = start; i < end; i++) {
+      mLastX = mSource.getX(i);
+      mLastY = mSource.getY(i);
+      if (mLastY != MathHelper.NULL_VALUE && !Double.isNaN(mLastY)) {
+        push(mLastY);
+        if (mWindowSize == mWindow.length) {
+          x[length] = mLastX;
+          y[length] = getStatisticValue();
+          length++;
+          if (length == chunk) {
+            addAll(x, y, 0, length);
+            length = 0;
+          }
+        }
+      }
+    }
+    if (length > 0) {
+      addAll(x, y, 0, length);
+    }
+    mProcessed = end;
+  }
+
+  /**
+   * Adds a value to the window, evicting the oldest one if the window is full.
+   * 
+   * @param value the added value
+   */
+  private void push(double value) {
+    int length = mWindow.length;
+    long sequence = mSequence++;
+    int position = (int) (sequence % length);
+    if (mWindowSize == length) {
+      double evicted = mWindow[position];
+      double mean = mMean + (value - evicted) / length;
+      mSquares += (value - evicted) * (value - mean + evicted - mMean);
+      mMean = mean;
+    } else {
+      mWindowSize++;
+      double delta = value - mMean;
+      mMean += delta / mWindowSize;
+      mSquares += delta * (value - mMean);
+    }
+    mWindow[position] = value;
+    mMin.add(sequence, value, sequence - length + 1);
+    mMax.add(sequence, value, sequence - length + 1);
+  }
+
+  /**
+   * Returns the statistic value of the current window.
+   * 
+   * @return the statistic value
+   */
+  private double getStatisticValue() {
+    switch (mStatistic) {
+    case MINIMUM:
+      return mMin.get();
+    case MAXIMUM:
+      return mMax.get();
+    case STANDARD_DEVIATION:
+      return getStandardDeviation();
+    case UPPER_BAND:
+      return mMean + mBandWidth * getStandardDeviation();
+    case LOWER_BAND:
+      return mMean - mBandWidth * getStandardDeviation();
+    default:
+      return mMean;
+    }
+  }
+
+  private double getStandardDeviation() {
+    return Math.sqrt(Math.max(0, mSquares / mWindowSize));
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    mSource.addChangeListener(this);
+  }
+
+  /**
+   * A monotonic queue of window values, holding the current extreme value at
+   * its head.
+   */
+  private static class Extreme implements Serializable {
+    /** If the queue tracks the maximum, otherwise the minimum. */
+    private final boolean mMax;
+    /** The circular buffer of sequence numbers. */
+    private final long[] mSequences;
+    /** The circular buffer of values. */
+    private final double[] mValues;
+    /** The position of the queue head. */
+    private int mHead;
+    /** The queue size. */
+    private int mSize;
+
+    public Extreme(boolean max, int capacity) {
+      mMax = max;
+      mSequences = new long[capacity];
+      mValues = new double[capacity];
+    }
+
+    /**
+     * Adds a value at the tail, dropping the values it dominates and the
+     * values which left the window.
+     * 
+     * @param sequence the value sequence number
+     * @param value the value
+     * @param first the sequence number of the first value in the window
+     */
+    public void add(long sequence, double value, long first) {
+      while (mSize > 0 && mSequences[mHead] < first) {
+        mHead = position(1);
+        mSize--;
+      }
+      while (mSize > 0) {
+        double last = mValues[position(mSize - 1)];
+        if (mMax ? value >= last : value <= last) {
+          mSize--;
+        } else {
+          break;
+        }
+      }
+      int position = position(mSize++);
+      mSequences[position] = sequence;
+      mValues[position] = value;
+    }
+
+    public void clear() {
+      mHead = 0;
+      mSize = 0;
+    }
+
+    public double get() {
+      return mValues[mHead];
+    }
+
+    private int position(int index) {
+      return (mHead + index) % mSequences.length;
+    }
+  }
+}
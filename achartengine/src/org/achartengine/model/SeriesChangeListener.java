@@ -0,0 +1,42 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.model;
+
+/**
+ * A listener notified when an XY series is modified.
+ */
+public interface SeriesChangeListener {
+
+  /**
+   * Called when values were appended at the tail of the series, the values
+   * already in the series being left unchanged. It is called on the thread
+   * modifying the series, so it should return quickly.
+   * 
+   * @param series the modified series
+   * @param start the index of the first appended value
+   * @param end the index after the last appended value
+   */
+  void valuesAppended(XYSeries series, int start, int end);
+
+  /**
+   * Called when the series was modified other than by appending values, or
+   * when it was added to or removed from the listened dataset. It is called on
+   * the thread modifying the series, so it should return quickly.
+   * 
+   * @param series the modified series
+   */
+  void seriesChanged(XYSeries series);
+}
@@ -17,10 +17,18 @@ package org.achartengine.model;
 
 import java.util.Date;
 
+import org.achartengine.util.AbstractXYArray;
+
 /**
  * A series for the date / time charts.
  */
 public class TimeSeries extends XYSeries {
+  /** The number of values converted at once by the bulk add. */
+  private static final int CHUNK_SIZE = 4096;
+  /** The maximum age of the kept values, in milliseconds, 0 if not limited. */
+  private long mMaxAge;
+  /** The maximum number of kept values, 0 if not limited. */
+  private int mMaxCount;
 
   /**
    * Builds a new date / time series.
@@ -31,6 +39,16 @@ public class TimeSeries extends XYSeries {
     super(title);
   }
 
+  /**
+   * Builds a new date / time series over the provided values storage.
+   * 
+   * @param title the series title
+   * @param values the values storage
+   */
+  protected TimeSeries(String title, AbstractXYArray values) {
+    super(title, 0, values);
+  }
+
   /**
    * Adds a new value to the series.
    * 
@@ -38,10 +56,130 @@ public class TimeSeries extends XYSeries {
    * @param y the value for the Y axis
    */
   public synchronized void add(Date x, double y) {
-    super.add(x.getTime(), y);
+    add(x.getTime(), y);
+  }
+
+  /**
+   * Adds a new value to the series, then evicts the values no longer
+   * retained.
+   * 
+   * @param x the date / time value in milliseconds for the X axis
+   * @param y the value for the Y axis
+   */
+  @Override
+  public synchronized void add(double x, double y) {
+    super.add(x, y);
+    applyRetention();
+  }
+
+  /**
+   * Adds a new value to the series at the specified index, then evicts the
+   * values no longer retained.
+   * 
+   * @param index the index to be added the data to
+   * @param x the date / time value in milliseconds for the X axis
+   * @param y the value for the Y axis
+   */
+  @Override
+  public synchronized void add(int index, double x, double y) {
+    super.add(index, x, y);
+    applyRetention();
+  }
+
+  /**
+   * Adds the provided values to the series, then evicts the values no longer
+   * retained.
+   * 
+   * @param x the date / time values in milliseconds for the X axis
+   * @param y the values for the Y axis
+   * @param offset the offset of the first value in the provided arrays
+   * @param length the number of values to add
+   */
+  @Override
+  public synchronized void addAll(double[] x, double[] y, int offset, int length) {
+    super.addAll(x, y, offset, length);
+    applyRetention();
+  }
+
+  /**
+   * Adds the provided values to the series, taking the series lock once.
+   * 
+   * @param x the date / time values in milliseconds for the X axis
+   * @param y the values for the Y axis
+   * @param offset the offset of the first value in the provided arrays
+   * @param length the number of values to add
+   */
+  public synchronized void addAll(long[] x, double[] y, int offset, int length) {
+    if (offset < 0 || length < 0 || offset + length > x.length || offset + length > y.length) {
+      throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + length);
+    }
+    ensureCapacity(getItemCount() + length);
+    int size = Math.min(length, CHUNK_SIZE);
+    double[] xChunk = new double[size];
+    double[] yChunk = new double[size];
+    int end = offset + length;
+    for (int start = offset; start < end; start += size) {
+      int count = Math.min(size, end - start);
+      for (int i = 0; i < count; i++) {
+        xChunk[i] = x[start + i];
+      }
+      System.arraycopy(y, start, yChunk, 0, count);
+      addAll(xChunk, yChunk, 0, count);
+    }
   }
   
   protected double getPadding(double x) {
     return 1;
   }
+
+  /**
+   * Sets the retention policy of the series, for long running charts to keep
+   * a bounded number of values. The oldest values are evicted as new ones are
+   * added, in a time proportional to the number of evicted values.
+   * 
+   * @param maxAge the maximum age of the kept values in milliseconds, relative
+   *          to the most recent one, or 0 not to limit it
+   * @param maxCount the maximum number of kept values, or 0 not to limit it
+   */
+  public synchronized void setRetention(long maxAge, int maxCount) {
+    if (maxAge < 0 || maxCount < 0) {
+      throw new IllegalArgumentException("The retention limits cannot be negative");
+    }
+    incrementVersion();
+    mMaxAge = maxAge;
+    mMaxCount = maxCount;
+    applyRetention();
+  }
+
+  /**
+   * Returns the maximum age of the kept values.
+   * 
+   * @return the maximum age in milliseconds, 0 if not limited
+   */
+  public long getMaxAge() {
+    return mMaxAge;
+  }
+
+  /**
+   * Returns the maximum number of kept values.
+   * 
+   * @return the maximum number of values, 0 if not limited
+   */
+  public int getMaxCount() {
+    return mMaxCount;
+  }
+
+  /**
+   * Evicts the oldest values, the ones not retained by the retention policy.
+   */
+  private void applyRetention() {
+    int count = getItemCount();
+    if (mMaxCount > 0 && count > mMaxCount) {
+      removeRange(0, count - mMaxCount);
+      count = mMaxCount;
+    }
+    if (mMaxAge > 0 && count > 0) {
+      trimBefore(getX(count - 1) - mMaxAge);
+    }
+  }
 }
@@ -15,9 +15,12 @@
  */
 package org.achartengine.model;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * A series that includes 0 to many XYSeries.
@@ -25,6 +28,12 @@ import java.util.List;
 public class XYMultipleSeriesDataset implements Serializable {
   /** The included series. */
   private List<XYSeries> mSeries = new ArrayList<XYSeries>();
+  /** The dataset version, incremented on every change. */
+  private volatile long mVersion;
+  /** The listeners notified when the dataset or its series are modified. */
+  private transient volatile List<SeriesChangeListener> mListeners;
+  /** The listener registered on the series, forwarding to the dataset listeners. */
+  private transient SeriesChangeListener mSeriesListener;
 
   /**
    * Adds a new XY series to the list.
@@ -32,7 +41,9 @@ public class XYMultipleSeriesDataset implements Serializable {
    * @param series the XY series to add
    */
   public synchronized void addSeries(XYSeries series) {
+    incrementVersion();
     mSeries.add(series);
+    seriesAdded(series);
   }
 
   /**
@@ -42,7 +53,9 @@ public class XYMultipleSeriesDataset implements Serializable {
    * @param series the XY series to add
    */
   public synchronized void addSeries(int index, XYSeries series) {
+    incrementVersion();
     mSeries.add(index, series);
+    seriesAdded(series);
   }
 
   /**
@@ -51,7 +64,11 @@ public class XYMultipleSeriesDataset implements Serializable {
    * @param series the XY series to add
    */
   public synchronized void addAllSeries(List<XYSeries> series) {
+    incrementVersion();
     mSeries.addAll(series);
+    for (XYSeries added : series) {
+      seriesAdded(added);
+    }
   }
 
   /**
@@ -60,7 +77,8 @@ public class XYMultipleSeriesDataset implements Serializable {
    * @param index the index in the series list of the series to remove
    */
   public synchronized void removeSeries(int index) {
-    mSeries.remove(index);
+    incrementVersion();
+    seriesRemoved(mSeries.remove(index));
   }
 
   /**
@@ -69,14 +87,22 @@ public class XYMultipleSeriesDataset implements Serializable {
    * @param series the XY series to be removed
    */
   public synchronized void removeSeries(XYSeries series) {
-    mSeries.remove(series);
+    incrementVersion();
+    if (mSeries.remove(series)) {
+      seriesRemoved(series);
+    }
   }
 
   /**
    * Removes all the XY series from the list.
    */
   public synchronized void clear() {
+    incrementVersion();
+    List<XYSeries> removed = new ArrayList<XYSeries>(mSeries);
     mSeries.clear();
+    for (XYSeries series : removed) {
+      seriesRemoved(series);
+    }
   }
 
   /**
@@ -107,4 +133,112 @@ public class XYMultipleSeriesDataset implements Serializable {
     return mSeries.toArray(new XYSeries[0]);
   }
 
+  /**
+   * Returns the dataset version, incremented every time series are added or
+   * removed. The series have their own versions.
+   * 
+   * @return the dataset version
+   */
+  public long getVersion() {
+    return mVersion;
+  }
+
+  /**
+   * Increments the dataset version, after series were added or removed.
+   */
+  protected void incrementVersion() {
+    mVersion++;
+  }
+
+  /**
+   * Writes the dataset while series cannot be added or removed.
+   */
+  private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+  }
+
+  /**
+   * Adds a listener to be notified when series are added to or removed from
+   * the dataset, or when the series of the dataset are modified.
+   * 
+   * @param listener the listener
+   */
+  public synchronized void addChangeListener(SeriesChangeListener listener) {
+    if (mListeners == null) {
+      mListeners = new CopyOnWriteArrayList<SeriesChangeListener>();
+      mSeriesListener = new SeriesListener();
+      for (XYSeries series : mSeries) {
+        series.addChangeListener(mSeriesListener);
+      }
+    }
+    mListeners.add(listener);
+  }
+
+  /**
+   * Removes a listener notified when the dataset or its series are modified.
+   * 
+   * @param listener the listener
+   */
+  public synchronized void removeChangeListener(SeriesChangeListener listener) {
+    if (mListeners != null) {
+      mListeners.remove(listener);
+      if (mListeners.isEmpty()) {
+        for (XYSeries series : mSeries) {
+          series.removeChangeListener(mSeriesListener);
+        }
+        mListeners = null;
+        mSeriesListener = null;
+      }
+    }
+  }
+
+  /**
+   * Registers the dataset on a series added to it, if listened to.
+   * 
+   * @param series the added series
+   */
+  private void seriesAdded(XYSeries series) {
+    if (mSeriesListener != null) {
+      series.addChangeListener(mSeriesListener);
+      mSeriesListener.seriesChanged(series);
+    }
+  }
+
+  /**
+   * Unregisters the dataset from a series removed from it, if listened to.
+   * 
+   * @param series the removed series
+   */
+  private void seriesRemoved(XYSeries series) {
+    if (mSeriesListener != null) {
+      series.removeChangeListener(mSeriesListener);
+      mSeriesListener.seriesChanged(series);
+    }
+  }
+
+  /**
+   * Forwards the notifications of the series to the dataset listeners. It
+   * does not take the dataset lock, as it is called while the series lock is
+   * held.
+   */
+  private class SeriesListener implements SeriesChangeListener {
+
+    public void valuesAppended(XYSeries series, int start, int end) {
+      List<SeriesChangeListener> listeners = mListeners;
+      if (listeners != null) {
+        for (SeriesChangeListener listener : listeners) {
+          listener.valuesAppended(series, start, end);
+        }
+      }
+    }
+
+    public void seriesChanged(XYSeries series) {
+      List<SeriesChangeListener> listeners = mListeners;
+      if (listeners != null) {
+        for (SeriesChangeListener listener : listeners) {
+          listener.seriesChanged(series);
+        }
+      }
+    }
+  }
 }
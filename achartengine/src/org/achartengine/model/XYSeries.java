@@ -15,16 +15,18 @@
  */
 package org.achartengine.model;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.achartengine.util.AbstractXYArray;
+import org.achartengine.util.AnnotationArray;
+import org.achartengine.util.IndexXYArray;
 import org.achartengine.util.IndexXYMap;
 import org.achartengine.util.MathHelper;
-import org.achartengine.util.XYEntry;
 
 /**
  * An XY series encapsulates values for XY charts like line, time, area,
@@ -33,8 +35,8 @@ import org.achartengine.util.XYEntry;
 public class XYSeries implements Serializable {
   /** The series title. */
   private String mTitle;
-  /** A map to contain values for X and Y axes and index for each bundle */
-  private final IndexXYMap<Double, Double> mXY = new IndexXYMap<Double, Double>();
+  /** The primitive storage of the values for the X and Y axes, sorted by X. */
+  private final AbstractXYArray mXY;
   /** The minimum value for the X axis. */
   private double mMinX = MathHelper.NULL_VALUE;
   /** The maximum value for the X axis. */
@@ -43,12 +45,18 @@ public class XYSeries implements Serializable {
   private double mMinY = MathHelper.NULL_VALUE;
   /** The maximum value for the Y axis. */
   private double mMaxY = -MathHelper.NULL_VALUE;
+  /** If the range must be computed again, because an extreme value was removed. */
+  private boolean mRangeInvalid;
   /** The scale number for this series. */
   private final int mScaleNumber;
-  /** Contains the annotations. */
-  private List<String> mAnnotations = new ArrayList<String>();
-  /** A map contain a (x,y) value for each String annotation. */
-  private final IndexXYMap<Double, Double> mStringXY = new IndexXYMap<Double, Double>();
+  /** The annotations, sorted by X. */
+  private final AnnotationArray mAnnotations;
+  /** The series version, incremented on every change. */
+  private volatile long mVersion;
+  /** The listeners notified when the series is modified. */
+  private transient volatile List<SeriesChangeListener> mListeners;
+  /** If the values sharing the same X are kept, in insertion order. */
+  private boolean mDuplicateXAllowed;
 
   /**
    * Builds a new XY series.
@@ -66,9 +74,69 @@ public class XYSeries implements Serializable {
    * @param scaleNumber the series scale number
    */
   public XYSeries(String title, int scaleNumber) {
+    this(title, scaleNumber, new IndexXYArray());
+  }
+
+  /**
+   * Builds a new XY series over the provided values storage. The range of the
+   * values is computed when first requested.
+   * 
+   * @param title the series title.
+   * @param scaleNumber the series scale number
+   * @param values the values storage
+   */
+  protected XYSeries(String title, int scaleNumber, AbstractXYArray values) {
     mTitle = title;
     mScaleNumber = scaleNumber;
-    initRange();
+    mXY = values;
+    mRangeInvalid = values.size() > 0;
+    mAnnotations = new AnnotationArray();
+  }
+
+  /**
+   * Builds a snapshot of the provided series. The subclasses use it to
+   * snapshot their own values along.
+   * 
+   * @param source the source series
+   * @param values the snapshot of the source values
+   */
+  protected XYSeries(XYSeries source, AbstractXYArray values) {
+    mTitle = source.mTitle;
+    mScaleNumber = source.mScaleNumber;
+    mXY = values;
+    mMinX = source.getMinX();
+    mMaxX = source.getMaxX();
+    mMinY = source.getMinY();
+    mMaxY = source.getMaxY();
+    mAnnotations = source.mAnnotations;
+    mVersion = source.getVersion();
+    mDuplicateXAllowed = source.mDuplicateXAllowed;
+  }
+
+  /**
+   * Returns a read only snapshot of the series, not affected by the values
+   * added or removed afterwards. It is taken in constant time for the default
+   * storage, and allows a series to be drawn without holding its lock while
+   * another thread keeps adding values. The annotations are not copied.
+   * 
+   * @param rangeIndex if range queries, like the level of detail summary, will
+   *          be run on the snapshot, such as an index of the values can be
+   *          built first and shared
+   * @return the series snapshot
+   */
+  public synchronized XYSeries snapshot(boolean rangeIndex) {
+    return createSnapshot(mXY.snapshot(rangeIndex));
+  }
+
+  /**
+   * Builds the snapshot of the series, called with the series lock held. The
+   * subclasses holding their own values override it to snapshot them along.
+   * 
+   * @param values the snapshot of the values
+   * @return the series snapshot
+   */
+  protected XYSeries createSnapshot(AbstractXYArray values) {
+    return new XYSeries(this, values);
   }
 
   public int getScaleNumber() {
@@ -83,6 +151,7 @@ public class XYSeries implements Serializable {
     mMaxX = -MathHelper.NULL_VALUE;
     mMinY = MathHelper.NULL_VALUE;
     mMaxY = -MathHelper.NULL_VALUE;
+    mRangeInvalid = false;
     int length = getItemCount();
     for (int k = 0; k < length; k++) {
       double x = getX(k);
@@ -91,6 +160,15 @@ public class XYSeries implements Serializable {
     }
   }
 
+  /**
+   * Computes the range again if it was invalidated by a removal.
+   */
+  private void validateRange() {
+    if (mRangeInvalid) {
+      initRange();
+    }
+  }
+
   /**
    * Updates the range on both axes.
    * 
@@ -109,7 +187,7 @@ public class XYSeries implements Serializable {
    * 
    * @return the series title
    */
-  public String getTitle() {
+  public synchronized String getTitle() {
     return mTitle;
   }
 
@@ -118,8 +196,10 @@ public class XYSeries implements Serializable {
    * 
    * @param title the series title
    */
-  public void setTitle(String title) {
+  public synchronized void setTitle(String title) {
+    incrementVersion();
     mTitle = title;
+    notifySeriesChanged();
   }
 
   /**
@@ -129,13 +209,97 @@ public class XYSeries implements Serializable {
    * @param y the value for the Y axis
    */
   public synchronized void add(double x, double y) {
-    while (mXY.get(x) != null) {
-      // add a very small value to x such as data points sharing the same x will
-      // still be added
-      x += getPadding(x);
+    notifyValueAdded(insert(x, y));
+  }
+
+  /**
+   * Adds a new value to the series, at its position given by X, and returns
+   * the index it was added at. The listeners are not notified, such as the
+   * subclasses keep their own values aligned with the series ones before
+   * calling {@link #notifyValueAdded(int)}.
+   * 
+   * @param x the value for the X axis
+   * @param y the value for the Y axis
+   * @return the index the value was added at
+   */
+  protected synchronized int insert(double x, double y) {
+    incrementVersion();
+    return addValue(x, y);
+  }
+
+  /**
+   * Adds a new value to the series, either at the tail or at its position
+   * given by X.
+   * 
+   * @param x the value for the X axis
+   * @param y the value for the Y axis
+   * @return the index the value was added at
+   */
+  private int addValue(double x, double y) {
+    int count = mXY.size();
+    int index;
+    if (count == 0 || isOrdered(mXY.getXByIndex(count - 1), x)) {
+      // values are usually added in increasing X order, so they can be
+      // appended without searching for their position
+      mXY.put(count, x, y);
+      index = count;
+    } else {
+      while (!mDuplicateXAllowed && mXY.getIndexForKey(x) >= 0) {
+        // add a very small value to x such as data points sharing the same x
+        // will still be added
+        x += getPadding(x);
+      }
+      // the value is added after the ones sharing its X
+      index = mXY.put(x, y);
     }
-    mXY.put(x, y);
     updateRange(x, y);
+    return index;
+  }
+
+  /**
+   * Adds the provided values to the series. The series lock is taken once and
+   * the storage is sized for all the values up front. When the X values are
+   * increasing and greater than the ones in the series, they are copied at the
+   * tail in bulk.
+   * 
+   * @param x the values for the X axis
+   * @param y the values for the Y axis
+   * @param offset the offset of the first value in the provided arrays
+   * @param length the number of values to add
+   */
+  public synchronized void addAll(double[] x, double[] y, int offset, int length) {
+    if (offset < 0 || length < 0 || offset + length > x.length || offset + length > y.length) {
+      throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + length);
+    }
+    if (length == 0) {
+      return;
+    }
+    incrementVersion();
+    int count = mXY.size();
+    mXY.ensureCapacity(count + length);
+    boolean sorted = count == 0 || isOrdered(mXY.getXByIndex(count - 1), x[offset]);
+    double minX = x[offset];
+    double maxX = minX;
+    double minY = y[offset];
+    double maxY = minY;
+    int end = offset + length;
+    for (int i = offset + 1; i < end && sorted; i++) {
+      sorted = isOrdered(x[i - 1], x[i]);
+      minY = Math.min(minY, y[i]);
+      maxY = Math.max(maxY, y[i]);
+    }
+    if (sorted) {
+      maxX = x[end - 1];
+      mXY.putAll(x, y, offset, length);
+      updateRange(minX, minY);
+      updateRange(maxX, maxY);
+      notifyValuesAppended(count, count + length);
+    } else {
+      for (int i = offset; i < end; i++) {
+        addValue(x[i], y[i]);
+      }
+      notifySeriesChanged();
+    }
   }
 
   /**
@@ -146,30 +310,147 @@ public class XYSeries implements Serializable {
    * @param y the value for the Y axis
    */
   public synchronized void add(int index, double x, double y) {
-    while (mXY.get(x) != null) {
+    notifyValueAdded(insert(index, x, y));
+  }
+
+  /**
+   * Adds a new value to the series at the specified index. The listeners are
+   * not notified, like by {@link #insert(double, double)}.
+   * 
+   * @param index the index to be added the data to
+   * @param x the value for the X axis
+   * @param y the value for the Y axis
+   * @return the index the value was added at
+   */
+  protected synchronized int insert(int index, double x, double y) {
+    incrementVersion();
+    while (!mDuplicateXAllowed && mXY.getIndexForKey(x) >= 0) {
       // add a very small value to x such as data points sharing the same x will
       // still be added
       x += getPadding(x);
     }
     mXY.put(index, x, y);
     updateRange(x, y);
+    return index;
   }
 
   protected double getPadding(double x) {
     return Math.ulp(x);
   }
 
+  /**
+   * Returns if a value having the given X can follow the one having the
+   * previous X, without any padding.
+   * 
+   * @param previous the previous X value
+   * @param x the X value
+   * @return if the values are in order
+   */
+  protected boolean isOrdered(double previous, double x) {
+    return x > previous || mDuplicateXAllowed && x == previous;
+  }
+
+  /**
+   * Sets if the values sharing the same X are kept as they are, after each
+   * other in insertion order. By default their X is padded until it is unique,
+   * which shifts them and takes a lookup for every padding step. When
+   * allowed, a burst of values sharing the same X is appended in constant time
+   * per value. It does not change the values already in the series.
+   * 
+   * @param allowed if the duplicate X values are allowed
+   */
+  public synchronized void setDuplicateXAllowed(boolean allowed) {
+    incrementVersion();
+    mDuplicateXAllowed = allowed;
+  }
+
+  /**
+   * Returns if the values sharing the same X are kept as they are.
+   * 
+   * @return if the duplicate X values are allowed
+   */
+  public synchronized boolean isDuplicateXAllowed() {
+    return mDuplicateXAllowed;
+  }
+
+  /**
+   * Makes sure the series can hold the given number of values without
+   * reallocating its storage.
+   * 
+   * @param capacity the minimum number of values
+   */
+  public synchronized void ensureCapacity(int capacity) {
+    mXY.ensureCapacity(capacity);
+  }
+
   /**
    * Removes an existing value from the series.
    * 
    * @param index the index in the series of the value to remove
    */
   public synchronized void remove(int index) {
-    XYEntry<Double, Double> removedEntry = mXY.removeByIndex(index);
-    double removedX = removedEntry.getKey();
-    double removedY = removedEntry.getValue();
+    incrementVersion();
+    double removedX = mXY.getXByIndex(index);
+    double removedY = mXY.getYByIndex(index);
+    mXY.removeByIndex(index);
     if (removedX == mMinX || removedX == mMaxX || removedY == mMinY || removedY == mMaxY) {
+      // the range is computed again only when requested, such as consecutive
+      // removals scan the values only once
+      mRangeInvalid = true;
+    }
+    notifySeriesChanged();
+  }
+
+  /**
+   * Removes the values in the given index range at once. The range of the
+   * remaining values is computed using the range queries of the storage,
+   * instead of scanning all of them.
+   * 
+   * @param fromIndex the index of the first value to remove
+   * @param toIndex the index after the last value to remove
+   */
+  public synchronized void removeRange(int fromIndex, int toIndex) {
+    incrementVersion();
+    int count = mXY.size();
+    if (fromIndex < 0 || toIndex > count || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: "
+          + count);
+    }
+    if (fromIndex == toIndex) {
+      return;
+    }
+    boolean extremeRemoved = false;
+    for (int index = fromIndex; index < toIndex && !extremeRemoved; index++) {
+      double removedY = mXY.getYByIndex(index);
+      extremeRemoved = removedY == mMinY || removedY == mMaxY;
+    }
+    mXY.removeRange(fromIndex, toIndex);
+    count = mXY.size();
+    if (count == 0) {
       initRange();
+    } else if (!mRangeInvalid) {
+      // the X values are sorted, the extremes are the first and last ones
+      mMinX = mXY.getXByIndex(0);
+      mMaxX = mXY.getXByIndex(count - 1);
+      if (extremeRemoved) {
+        int minIndex = mXY.getMinYIndex(0, count);
+        int maxIndex = mXY.getMaxYIndex(0, count);
+        mMinY = minIndex < 0 ? MathHelper.NULL_VALUE : mXY.getYByIndex(minIndex);
+        mMaxY = maxIndex < 0 ? -MathHelper.NULL_VALUE : mXY.getYByIndex(maxIndex);
+      }
+    }
+    notifySeriesChanged();
+  }
+
+  /**
+   * Removes the values having the X lower than the provided one.
+   * 
+   * @param x the X value of the first value to keep
+   */
+  public synchronized void trimBefore(double x) {
+    int index = mXY.getCeilingIndex(x);
+    if (index > 0) {
+      removeRange(0, index);
     }
   }
 
@@ -177,6 +458,7 @@ public class XYSeries implements Serializable {
    * Removes all the existing values and annotations from the series.
    */
   public synchronized void clear() {
+    incrementVersion();
     clearAnnotations();
     clearSeriesValues();
   }
@@ -185,25 +467,36 @@ public class XYSeries implements Serializable {
    * Removes all the existing values from the series but annotations.
    */
   public synchronized void clearSeriesValues() {
+    incrementVersion();
     mXY.clear();
     initRange();
+    notifySeriesChanged();
   }
 
   /**
    * Removes all the existing annotations from the series.
    */
   public synchronized void clearAnnotations() {
+    incrementVersion();
     mAnnotations.clear();
-    mStringXY.clear();
+    notifySeriesChanged();
   }
 
   /**
-   * Returns the current values that are used for drawing the series.
+   * Returns a copy of the current values that are used for drawing the series.
    * 
    * @return the XY map
+   * @deprecated the values are no longer stored in a map, use
+   *             {@link #getX(int)} and {@link #getY(int)} instead
    */
+  @Deprecated
   public synchronized IndexXYMap<Double, Double> getXYMap() {
-    return mXY;
+    IndexXYMap<Double, Double> map = new IndexXYMap<Double, Double>();
+    int length = mXY.size();
+    for (int k = 0; k < length; k++) {
+      map.put(mXY.getXByIndex(k), mXY.getYByIndex(k));
+    }
+    return map;
   }
 
   /**
@@ -227,18 +520,17 @@ public class XYSeries implements Serializable {
   }
 
   /**
-   * Add an String at (x,y) coordinates
+   * Add an String at (x,y) coordinates. The annotations are kept sorted by X,
+   * after the ones sharing the same X.
    * 
    * @param annotation String text
    * @param x
    * @param y
    */
-  public void addAnnotation(String annotation, double x, double y) {
-    mAnnotations.add(annotation);
-    while (mStringXY.get(x) != null) {
-      x += getPadding(x);
-    }
-    mStringXY.put(x, y);
+  public synchronized void addAnnotation(String annotation, double x, double y) {
+    incrementVersion();
+    mAnnotations.add(annotation, x, y);
+    notifySeriesChanged();
   }
 
   /**
@@ -246,9 +538,10 @@ public class XYSeries implements Serializable {
    * 
    * @param index
    */
-  public void removeAnnotation(int index) {
+  public synchronized void removeAnnotation(int index) {
+    incrementVersion();
     mAnnotations.remove(index);
-    mStringXY.removeByIndex(index);
+    notifySeriesChanged();
   }
 
   /**
@@ -257,8 +550,8 @@ public class XYSeries implements Serializable {
    * @param index the index in the annotations list
    * @return the corresponding annotation X value
    */
-  public double getAnnotationX(int index) {
-    return mStringXY.getXByIndex(index);
+  public synchronized double getAnnotationX(int index) {
+    return mAnnotations.getX(index);
   }
 
   /**
@@ -267,8 +560,8 @@ public class XYSeries implements Serializable {
    * @param index the index in the annotations list
    * @return the corresponding annotation Y value
    */
-  public double getAnnotationY(int index) {
-    return mStringXY.getYByIndex(index);
+  public synchronized double getAnnotationY(int index) {
+    return mAnnotations.getY(index);
   }
 
   /**
@@ -276,7 +569,7 @@ public class XYSeries implements Serializable {
    * 
    * @return the annotations count
    */
-  public int getAnnotationCount() {
+  public synchronized int getAnnotationCount() {
     return mAnnotations.size();
   }
 
@@ -286,8 +579,18 @@ public class XYSeries implements Serializable {
    * @param index
    * @return String
    */
-  public String getAnnotationAt(int index) {
-    return mAnnotations.get(index);
+  public synchronized String getAnnotationAt(int index) {
+    return mAnnotations.getText(index);
+  }
+
+  /**
+   * Returns the annotations, for them to be drawn. They must be modified
+   * through the series.
+   * 
+   * @return the annotations
+   */
+  public AnnotationArray getAnnotations() {
+    return mAnnotations;
   }
 
   /**
@@ -301,40 +604,45 @@ public class XYSeries implements Serializable {
    */
   public synchronized SortedMap<Double, Double> getRange(double start, double stop,
       boolean beforeAfterPoints) {
-    if (beforeAfterPoints) {
-      // we need to add one point before the start and one point after the end
-      // (if there are any)
-      // to ensure that line doesn't end before the end of the screen
-
-      // this would be simply: start = mXY.lowerKey(start) but NavigableMap is
-      // available since API 9
-      SortedMap<Double, Double> headMap = mXY.headMap(start);
-      if (!headMap.isEmpty()) {
-        start = headMap.lastKey();
-      }
+    int[] window = mXY.getIndexWindow(start, stop, beforeAfterPoints);
+    return mXY.subMap(window[0], window[1]);
+  }
 
-      // this would be simply: end = mXY.higherKey(end) but NavigableMap is
-      // available since API 9
-      // so we have to do this hack in order to support older versions
-      SortedMap<Double, Double> tailMap = mXY.tailMap(stop);
-      if (!tailMap.isEmpty()) {
-        Iterator<Double> tailIterator = tailMap.keySet().iterator();
-        Double next = tailIterator.next();
-        if (tailIterator.hasNext()) {
-          stop = tailIterator.next();
-        } else {
-          stop += next;
-        }
-      }
-    }
-    if (start <= stop) {
-      return mXY.subMap(start, stop);
-    } else {
-      return new TreeMap<Double, Double>();
-    }
+  /**
+   * Returns the index window of the values in the given X range, such as they
+   * can be read by index without boxing them into a map.
+   * 
+   * @param start start x value
+   * @param stop stop x value
+   * @param beforeAfterPoints if the points before and after the first and last
+   *          visible ones must be included
+   * @return the index of the first value in the window and the index after
+   *         the last one
+   */
+  public synchronized int[] getIndexWindow(double start, double stop, boolean beforeAfterPoints) {
+    return mXY.getIndexWindow(start, stop, beforeAfterPoints);
   }
 
-  public int getIndexForKey(double key) {
+  /**
+   * Returns the indexes of the values summarizing the ones in the given X
+   * range with about the given number of buckets: the first, minimum, maximum
+   * and last values of every bucket.
+   * 
+   * @param start start x value
+   * @param stop stop x value
+   * @param beforeAfterPoints if the points before and after the first and last
+   *          visible ones must be included
+   * @param buckets the wanted number of buckets, usually the width in pixels
+   * @return the ascending indexes of the values to be drawn, or null if all
+   *         the values in the range should be drawn
+   */
+  public synchronized int[] getLevelOfDetail(double start, double stop,
+      boolean beforeAfterPoints, int buckets) {
+    int[] window = mXY.getIndexWindow(start, stop, beforeAfterPoints);
+    return mXY.getLevelOfDetail(window[0], window[1], buckets);
+  }
+
+  public synchronized int getIndexForKey(double key) {
     return mXY.getIndexForKey(key);
   }
 
@@ -352,7 +660,8 @@ public class XYSeries implements Serializable {
    * 
    * @return the X axis minimum value
    */
-  public double getMinX() {
+  public synchronized double getMinX() {
+    validateRange();
     return mMinX;
   }
 
@@ -361,7 +670,8 @@ public class XYSeries implements Serializable {
    * 
    * @return the Y axis minimum value
    */
-  public double getMinY() {
+  public synchronized double getMinY() {
+    validateRange();
     return mMinY;
   }
 
@@ -370,7 +680,8 @@ public class XYSeries implements Serializable {
    * 
    * @return the X axis maximum value
    */
-  public double getMaxX() {
+  public synchronized double getMaxX() {
+    validateRange();
     return mMaxX;
   }
 
@@ -379,7 +690,129 @@ public class XYSeries implements Serializable {
    * 
    * @return the Y axis maximum value
    */
-  public double getMaxY() {
+  public synchronized double getMaxY() {
+    validateRange();
     return mMaxY;
   }
+
+  /**
+   * Returns the minimum value on the Y axis of the values having X between
+   * the given limits. After the first call builds a range index, it takes
+   * logarithmic time.
+   * 
+   * @param start the start X value, inclusive
+   * @param stop the stop X value, inclusive
+   * @return the Y axis minimum value in the X range
+   */
+  public synchronized double getMinY(double start, double stop) {
+    int index = mXY.getMinYIndex(mXY.getCeilingIndex(start), mXY.getHigherIndex(stop));
+    return index < 0 ? MathHelper.NULL_VALUE : mXY.getYByIndex(index);
+  }
+
+  /**
+   * Returns the maximum value on the Y axis of the values having X between
+   * the given limits. After the first call builds a range index, it takes
+   * logarithmic time.
+   * 
+   * @param start the start X value, inclusive
+   * @param stop the stop X value, inclusive
+   * @return the Y axis maximum value in the X range
+   */
+  public synchronized double getMaxY(double start, double stop) {
+    int index = mXY.getMaxYIndex(mXY.getCeilingIndex(start), mXY.getHigherIndex(stop));
+    return index < 0 ? -MathHelper.NULL_VALUE : mXY.getYByIndex(index);
+  }
+
+  /**
+   * Returns the series version, incremented every time the series is modified.
+   * 
+   * @return the series version
+   */
+  public long getVersion() {
+    return mVersion;
+  }
+
+  /**
+   * Increments the series version, after the series was modified.
+   */
+  protected void incrementVersion() {
+    mVersion++;
+  }
+
+  /**
+   * Writes the series while it cannot be modified. The values are written by
+   * their storage, as blocks of primitive values.
+   */
+  private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+  }
+
+  /**
+   * Adds a listener to be notified when the series is modified.
+   * 
+   * @param listener the listener
+   */
+  public synchronized void addChangeListener(SeriesChangeListener listener) {
+    if (mListeners == null) {
+      mListeners = new CopyOnWriteArrayList<SeriesChangeListener>();
+    }
+    mListeners.add(listener);
+  }
+
+  /**
+   * Removes a listener notified when the series is modified.
+   * 
+   * @param listener the listener
+   */
+  public synchronized void removeChangeListener(SeriesChangeListener listener) {
+    if (mListeners != null) {
+      mListeners.remove(listener);
+      if (mListeners.isEmpty()) {
+        mListeners = null;
+      }
+    }
+  }
+
+  /**
+   * Notifies the listeners that values were appended at the tail.
+   * 
+   * @param start the index of the first appended value
+   * @param end the index after the last appended value
+   */
+  protected void notifyValuesAppended(int start, int end) {
+    List<SeriesChangeListener> listeners = mListeners;
+    if (listeners != null) {
+      for (SeriesChangeListener listener : listeners) {
+        listener.valuesAppended(this, start, end);
+      }
+    }
+  }
+
+  /**
+   * Notifies the listeners that a value was added at the given index, as
+   * appended if it is the last one.
+   * 
+   * @param index the index the value was added at
+   */
+  protected void notifyValueAdded(int index) {
+    int count = mXY.size();
+    if (index == count - 1) {
+      notifyValuesAppended(index, count);
+    } else {
+      notifySeriesChanged();
+    }
+  }
+
+  /**
+   * Notifies the listeners that the series was modified other than by
+   * appending values.
+   */
+  protected void notifySeriesChanged() {
+    List<SeriesChangeListener> listeners = mListeners;
+    if (listeners != null) {
+      for (SeriesChangeListener listener : listeners) {
+        listener.seriesChanged(this);
+      }
+    }
+  }
 }
@@ -0,0 +1,461 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.model;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import org.achartengine.util.MappedXYArray;
+import org.achartengine.util.MathHelper;
+import org.achartengine.util.XYFileHeader;
+
+/**
+ * Loads XY series from files through NIO channels, feeding the bulk add of the
+ * series in chunks of primitive values, such as large recordings are loaded
+ * without creating an object per value.
+ * <p>
+ * The binary files have the layout described by {@link XYFileHeader}, the one
+ * of the files mapped by {@link MappedXYArray}, such as an exported series can
+ * be mapped without being loaded.
+ * <p>
+ * The CSV files have a value per line, the X and Y being read from two of the
+ * delimited columns. The columns are not quoted. An empty Y column is read as
+ * a null value, {@link MathHelper#NULL_VALUE}.
+ */
+public class XYSeriesImporter {
+  /** The number of values added to the series at once. */
+  private static final int CHUNK_SIZE = 4096;
+  /** The initial size of the CSV read buffer. */
+  private static final int BUFFER_SIZE = 65536;
+  /** The exactly representable powers of ten. */
+  private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8,
+      1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+  /** The CSV columns delimiter. */
+  private char mDelimiter = ',';
+  /** The number of CSV lines skipped at the start, like headers. */
+  private int mSkipLines;
+  /** The CSV column holding the X values. */
+  private int mXColumn = 0;
+  /** The CSV column holding the Y values. */
+  private int mYColumn = 1;
+
+  /**
+   * Returns the CSV columns delimiter.
+   * 
+   * @return the delimiter
+   */
+  public char getDelimiter() {
+    return mDelimiter;
+  }
+
+  /**
+   * Sets the CSV columns delimiter, a comma by default.
+   * 
+   * @param delimiter the delimiter, an ASCII character
+   */
+  public void setDelimiter(char delimiter) {
+    if (delimiter > 127) {
+      throw new IllegalArgumentException("The delimiter must be an ASCII character");
+    }
+    mDelimiter = delimiter;
+  }
+
+  /**
+   * Returns the number of CSV lines skipped at the start.
+   * 
+   * @return the number of skipped lines
+   */
+  public int getSkipLines() {
+    return mSkipLines;
+  }
+
+  /**
+   * Sets the number of CSV lines skipped at the start, like headers.
+   * 
+   * @param skipLines the number of skipped lines
+   */
+  public void setSkipLines(int skipLines) {
+    mSkipLines = skipLines;
+  }
+
+  /**
+   * Returns the CSV column holding the X values.
+   * 
+   * @return the X column index
+   */
+  public int getXColumn() {
+    return mXColumn;
+  }
+
+  /**
+   * Returns the CSV column holding the Y values.
+   * 
+   * @return the Y column index
+   */
+  public int getYColumn() {
+    return mYColumn;
+  }
+
+  /**
+   * Sets the CSV columns holding the values, the first two by default.
+   * 
+   * @param xColumn the X column index, starting at 0
+   * @param yColumn the Y column index, starting at 0
+   */
+  public void setColumns(int xColumn, int yColumn) {
+    if (xColumn < 0 || yColumn < 0 || xColumn == yColumn) {
+      throw new IllegalArgumentException("Invalid columns: " + xColumn + ", " + yColumn);
+    }
+    mXColumn = xColumn;
+    mYColumn = yColumn;
+  }
+
+  /**
+   * Adds the values of a binary file to the series.
+   * 
+   * @param file the binary file
+   * @param series the series
+   * @return the number of added values
+   * @throws IOException if the file cannot be read or is not valid
+   */
+  public int importBinary(File file, XYSeries series) throws IOException {
+    FileInputStream in = new FileInputStream(file);
+    try {
+      return importBinary(in.getChannel(), series);
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Adds the values read from a channel in the binary layout to the series.
+   * 
+   * @param channel the channel
+   * @param series the series
+   * @return the number of added values
+   * @throws IOException if the values cannot be read or are not valid
+   */
+  public int importBinary(ReadableByteChannel channel, XYSeries series) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(XYFileHeader.SIZE);
+    readFully(channel, header);
+    header.flip();
+    long count = XYFileHeader.read(header).getCount();
+    if (count > Integer.MAX_VALUE - series.getItemCount()) {
+      throw new IOException("Invalid values count: " + count);
+    }
+    series.ensureCapacity(series.getItemCount() + (int) count);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_SIZE * 16);
+    double[] x = new double[CHUNK_SIZE];
+    double[] y = new double[CHUNK_SIZE];
+    long remaining = count;
+    while (remaining > 0) {
+      int length = (int) Math.min(CHUNK_SIZE, remaining);
+      buffer.clear();
+      buffer.limit(length * 16);
+      readFully(channel, buffer);
+      buffer.flip();
+      DoubleBuffer values = buffer.asDoubleBuffer();
+      for (int i = 0; i < length; i++) {
+        x[i] = values.get();
+        y[i] = values.get();
+      }
+      series.addAll(x, y, 0, length);
+      remaining -= length;
+    }
+    return (int) count;
+  }
+
+  /**
+   * Writes the values of the series to a binary file.
+   * 
+   * @param series the series
+   * @param file the file to be written, replaced if it exists
+   * @throws IOException if the file cannot be written
+   */
+  public void exportBinary(XYSeries series, File file) throws IOException {
+    FileOutputStream out = new FileOutputStream(file);
+    try {
+      exportBinary(series, out.getChannel());
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Writes the values of the series to a channel in the binary layout. The
+   * values are read from a snapshot of the series.
+   * 
+   * @param series the series
+   * @param channel the channel
+   * @throws IOException if the values cannot be written
+   */
+  public void exportBinary(XYSeries series, WritableByteChannel channel) throws IOException {
+    XYSeries snapshot = series.snapshot(false);
+    int count = snapshot.getItemCount();
+    ByteBuffer header = ByteBuffer.allocate(XYFileHeader.SIZE);
+    new XYFileHeader(count, snapshot.getMinX(), snapshot.getMaxX(), snapshot.getMinY(),
+        snapshot.getMaxY()).write(header);
+    header.flip();
+    writeFully(channel, header);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_SIZE * 16);
+    for (int start = 0; start < count; start += CHUNK_SIZE) {
+      int end = Math.min(count, start + CHUNK_SIZE);
+      buffer.clear();
+      for (int i = start; i < end; i++) {
+        buffer.putDouble(snapshot.getX(i));
+        buffer.putDouble(snapshot.getY(i));
+      }
+      buffer.flip();
+      writeFully(channel, buffer);
+    }
+  }
+
+  /**
+   * Adds the values of a CSV file to the series.
+   * 
+   * @param file the CSV file
+   * @param series the series
+   * @return the number of added values
+   * @throws IOException if the file cannot be read or is not valid
+   */
+  public int importCsv(File file, XYSeries series) throws IOException {
+    FileInputStream in = new FileInputStream(file);
+    try {
+      return importCsv(in.getChannel(), series);
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Adds the values read from a channel in the CSV format to the series. The
+   * lines are parsed in the read buffer, the numbers being converted without
+   * creating strings.
+   * 
+   * @param channel the channel
+   * @param series the series
+   * @return the number of added values
+   * @throws IOException if the values cannot be read or are not valid
+   */
+  public int importCsv(ReadableByteChannel channel, XYSeries series) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    double[] x = new double[CHUNK_SIZE];
+    double[] y = new double[CHUNK_SIZE];
+    int length = 0;
+    int count = 0;
+    int line = 0;
+    boolean eof = false;
+    while (!eof) {
+      eof = channel.read(buffer) < 0;
+      byte[] bytes = buffer.array();
+      int limit = buffer.position();
+      int start = 0;
+      while (start < limit) {
+        int end = start;
+        while (end < limit && bytes[end] != '\n') {
+          end++;
+        }
+        if (end == limit && !eof) {
+          // the line continues in the next read
+          break;
+        }
+        line++;
+        if (line > mSkipLines && parseLine(bytes, start, end, line, x, y, length)) {
+          length++;
+          if (length == CHUNK_SIZE) {
+            series.addAll(x, y, 0, length);
+            count += length;
+            length = 0;
+          }
+        }
+        start = end + 1;
+      }
+      if (start < limit) {
+        buffer.position(start);
+        buffer.limit(limit);
+        buffer.compact();
+        if (start == 0 && buffer.position() == buffer.capacity()) {
+          // a line longer than the buffer
+          ByteBuffer larger = ByteBuffer.allocate(2 * buffer.capacity());
+          buffer.flip();
+          larger.put(buffer);
+          buffer = larger;
+        }
+      } else {
+        buffer.clear();
+      }
+    }
+    if (length > 0) {
+      series.addAll(x, y, 0, length);
+      count += length;
+    }
+    return count;
+  }
+
+  /**
+   * Parses the X and Y values of a CSV line.
+   * 
+   * @param bytes the read bytes
+   * @param start the line start
+   * @param end the line end, exclusive
+   * @param line the line number, for the errors
+   * @param x the X values chunk
+   * @param y the Y values chunk
+   * @param index the index in the chunks of the parsed values
+   * @return if the values were parsed, false for a blank line
+   * @throws IOException if the line is not valid
+   */
+  private boolean parseLine(byte[] bytes, int start, int end, int line, double[] x, double[] y,
+      int index) throws IOException {
+    if (end > start && bytes[end - 1] == '\r') {
+      end--;
+    }
+    int first = start;
+    while (first < end && (bytes[first] == ' ' || bytes[first] == '\t')) {
+      first++;
+    }
+    if (first == end) {
+      return false;
+    }
+    int column = 0;
+    int fieldStart = start;
+    boolean xFound = false;
+    boolean yFound = false;
+    for (int i = start; i <= end && !(xFound && yFound); i++) {
+      if (i == end || bytes[i] == mDelimiter) {
+        if (column == mXColumn) {
+          x[index] = parseDouble(bytes, fieldStart, i, line, false);
+          xFound = true;
+        } else if (column == mYColumn) {
+          y[index] = parseDouble(bytes, fieldStart, i, line, true);
+          yFound = true;
+        }
+        column++;
+        fieldStart = i + 1;
+      }
+    }
+    if (!xFound || !yFound) {
+      throw new IOException("Missing column at line " + line);
+    }
+    return true;
+  }
+
+  /**
+   * Parses a decimal number. The numbers having at most 15 significant digits
+   * and a small exponent are converted exactly with a single floating point
+   * operation, the other ones by {@link Double#parseDouble(String)}.
+   * 
+   * @param bytes the read bytes
+   * @param start the number start
+   * @param end the number end, exclusive
+   * @param line the line number, for the errors
+   * @param empty if an empty number is read as a null value
+   * @return the number
+   * @throws IOException if the number is not valid
+   */
+  private static double parseDouble(byte[] bytes, int start, int end, int line, boolean empty)
+      throws IOException {
+    while (start < end && (bytes[start] == ' ' || bytes[start] == '\t')) {
+      start++;
+    }
+    while (end > start && (bytes[end - 1] == ' ' || bytes[end - 1] == '\t')) {
+      end--;
+    }
+    if (start == end) {
+      if (empty) {
+        return MathHelper.NULL_VALUE;
+      }
+      throw new IOException("Missing number at line " + line);
+    }
+    int i = start;
+    boolean negative = bytes[i] == '-';
+    if (negative || bytes[i] == '+') {
+      i++;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int exponent = 0;
+    boolean fraction = false;
+    int digitsStart = i;
+    for (; i < end; i++) {
+      int b = bytes[i];
+      if (b >= '0' && b <= '9') {
+        mantissa = 10 * mantissa + (b - '0');
+        if (mantissa > 0) {
+          digits++;
+        }
+        if (fraction) {
+          exponent--;
+        }
+        if (digits > 15) {
+          break;
+        }
+      } else if (b == '.' && !fraction) {
+        fraction = true;
+      } else {
+        break;
+      }
+    }
+    boolean valid = digits <= 15 && i > digitsStart && !(fraction && i == digitsStart + 1);
+    if (valid && i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+      i++;
+      boolean negativeExponent = i < end && bytes[i] == '-';
+      if (i < end && (negativeExponent || bytes[i] == '+')) {
+        i++;
+      }
+      int exponentStart = i;
+      int value = 0;
+      for (; i < end && bytes[i] >= '0' && bytes[i] <= '9' && value < 1000; i++) {
+        value = 10 * value + (bytes[i] - '0');
+      }
+      valid = i > exponentStart;
+      exponent += negativeExponent ? -value : value;
+    }
+    if (valid && i == end && exponent >= -22 && exponent <= 22) {
+      double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa
+          / POWERS_OF_TEN[-exponent];
+      return negative ? -value : value;
+    }
+    try {
+      return Double.parseDouble(new String(bytes, start, end - start, "US-ASCII"));
+    } catch (NumberFormatException e) {
+      throw new IOException("Invalid number at line " + line);
+    }
+  }
+
+  private static void readFully(ReadableByteChannel channel, ByteBuffer buffer)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        throw new EOFException("Unexpected end of the values");
+      }
+    }
+  }
+
+  private static void writeFully(WritableByteChannel channel, ByteBuffer buffer)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+}
@@ -15,18 +15,34 @@
  */
 package org.achartengine.model;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 
+import org.achartengine.util.AbstractXYArray;
 import org.achartengine.util.MathHelper;
+import org.achartengine.util.SerializationHelper;
 
 /**
  * An extension of the XY series which adds a third dimension. It is used for XY
  * charts like bubble.
  */
 public class XYValueSeries extends XYSeries {
-  /** A list to contain the series values. */
-  private List<Double> mValue = new ArrayList<Double>();
+  /** The default initial capacity of the values array. */
+  private static final int DEFAULT_CAPACITY = 16;
+  /**
+   * The series values, kept in a growable primitive array aligned by index
+   * with the X and Y values.
+   */
+  private transient double[] mValues;
+  /** The number of values. */
+  private transient int mValueCount;
+  /**
+   * If the values array is shared with a snapshot, such as it is copied before
+   * the values the snapshot reads are modified. The appended values are
+   * stored after them and do not need a copy.
+   */
+  private transient boolean mValuesShared;
   /** The minimum value. */
   private double mMinValue = MathHelper.NULL_VALUE;
   /** The maximum value. */
@@ -39,6 +55,36 @@ public class XYValueSeries extends XYSeries {
    */
   public XYValueSeries(String title) {
     super(title);
+    mValues = new double[DEFAULT_CAPACITY];
+  }
+
+  /**
+   * Builds a snapshot of the provided series.
+   * 
+   * @param source the source series
+   * @param values the snapshot of the source X and Y values
+   * @param value the source values array, shared with the source
+   * @param count the number of source values
+   */
+  private XYValueSeries(XYValueSeries source, AbstractXYArray values, double[] value, int count) {
+    super(source, values);
+    mValues = value;
+    mValueCount = count;
+    mValuesShared = true;
+    mMinValue = source.mMinValue;
+    mMaxValue = source.mMaxValue;
+  }
+
+  /**
+   * Builds the snapshot of the series, including the values and their range.
+   * 
+   * @param values the snapshot of the X and Y values
+   * @return the series snapshot
+   */
+  @Override
+  protected XYSeries createSnapshot(AbstractXYArray values) {
+    mValuesShared = true;
+    return new XYValueSeries(this, values, mValues, mValueCount);
   }
 
   /**
@@ -49,20 +95,196 @@ public class XYValueSeries extends XYSeries {
    * @param value the value
    */
   public synchronized void add(double x, double y, double value) {
-    super.add(x, y);
-    mValue.add(value);
+    int index = insert(x, y);
+    insertValue(index, value);
     updateRange(value);
+    notifyValueAdded(index);
+  }
+
+  /**
+   * Adds a new value to the series at the specified index.
+   * 
+   * @param index the index to be added the data to
+   * @param x the value for the X axis
+   * @param y the value for the Y axis
+   */
+  @Override
+  public synchronized void add(int index, double x, double y) {
+    insert(index, x, y);
+    insertValue(index, 0);
+    updateRange(0);
+    notifyValueAdded(index);
+  }
+
+  /**
+   * Adds the provided values to the series, taking the series lock once.
+   * 
+   * @param x the values for the X axis
+   * @param y the values for the Y axis
+   * @param value the values
+   * @param offset the offset of the first value in the provided arrays
+   * @param length the number of values to add
+   */
+  public synchronized void addAll(double[] x, double[] y, double[] value, int offset, int length) {
+    if (offset < 0 || length < 0 || offset + length > value.length) {
+      throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + length);
+    }
+    addAll(x, y, value, offset, offset, length);
   }
 
   /**
-   * Initializes the values range.
+   * Adds the provided values to the series, with a 0 value.
+   * 
+   * @param x the values for the X axis
+   * @param y the values for the Y axis
+   * @param offset the offset of the first value in the provided arrays
+   * @param length the number of values to add
+   */
+  @Override
+  public synchronized void addAll(double[] x, double[] y, int offset, int length) {
+    if (length < 0) {
+      throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + length);
+    }
+    addAll(x, y, new double[length], 0, offset, length);
+  }
+
+  /**
+   * Adds the provided values to the series. The values are stored before the
+   * X and Y ones, such as the listeners notified by the series can read them.
+   * 
+   * @param x the values for the X axis
+   * @param y the values for the Y axis
+   * @param value the values
+   * @param valueOffset the offset of the first value in the values array
+   * @param offset the offset of the first value in the X and Y arrays
+   * @param length the number of values to add
+   */
+  private void addAll(double[] x, double[] y, double[] value, int valueOffset, int offset,
+      int length) {
+    if (offset < 0 || length < 0 || offset + length > x.length || offset + length > y.length) {
+      throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + length);
+    }
+    if (isAppended(x, offset, length)) {
+      ensureValueCapacity(mValueCount + length);
+      System.arraycopy(value, valueOffset, mValues, mValueCount, length);
+      for (int i = 0; i < length; i++) {
+        updateRange(value[valueOffset + i]);
+      }
+      mValueCount += length;
+      super.addAll(x, y, offset, length);
+    } else {
+      for (int i = 0; i < length; i++) {
+        add(x[offset + i], y[offset + i], value[valueOffset + i]);
+      }
+    }
+  }
+
+  /**
+   * Returns if the provided X values would be appended at once by the bulk
+   * add, being increasing and greater than the ones in the series.
+   * 
+   * @param x the values for the X axis
+   * @param offset the offset of the first value in the provided array
+   * @param length the number of values
+   * @return if the values are appended
+   */
+  private boolean isAppended(double[] x, int offset, int length) {
+    if (length == 0) {
+      return true;
+    }
+    int count = getItemCount();
+    if (count > 0 && !isOrdered(getX(count - 1), x[offset])) {
+      return false;
+    }
+    for (int i = offset + 1; i < offset + length; i++) {
+      if (!isOrdered(x[i - 1], x[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Makes sure the values array can hold the provided number of values without
+   * being reallocated.
+   * 
+   * @param capacity the minimum capacity
+   */
+  private void ensureValueCapacity(int capacity) {
+    if (capacity > mValues.length) {
+      double[] values = new double[Math.max(capacity, mValues.length + (mValues.length >> 1) + 1)];
+      System.arraycopy(mValues, 0, values, 0, mValueCount);
+      mValues = values;
+      mValuesShared = false;
+    }
+  }
+
+  /**
+   * Copies the values array if it is shared with a snapshot, before the values
+   * the snapshot reads are modified.
+   */
+  private void unshareValues() {
+    if (mValuesShared) {
+      double[] values = new double[mValues.length];
+      System.arraycopy(mValues, 0, values, 0, mValueCount);
+      mValues = values;
+      mValuesShared = false;
+    }
+  }
+
+  /**
+   * Inserts a value at the provided index, shifting the next ones.
+   * 
+   * @param index the index
+   * @param value the value
+   */
+  private void insertValue(int index, double value) {
+    ensureValueCapacity(mValueCount + 1);
+    if (index < mValueCount) {
+      unshareValues();
+      System.arraycopy(mValues, index, mValues, index + 1, mValueCount - index);
+    }
+    mValues[index] = value;
+    mValueCount++;
+  }
+
+  /**
+   * Returns the value at the specified index, without taking the series lock.
+   * 
+   * @param index the index
+   * @return the value
+   */
+  private double valueAt(int index) {
+    if (index < 0 || index >= mValueCount) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mValueCount);
+    }
+    return mValues[index];
+  }
+
+  /**
+   * Removes the values in the given index range, shifting the next ones.
+   * 
+   * @param fromIndex the index of the first value to remove
+   * @param toIndex the index after the last value to remove
+   */
+  private void removeValues(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > mValueCount || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: "
+          + mValueCount);
+    }
+    unshareValues();
+    System.arraycopy(mValues, toIndex, mValues, fromIndex, mValueCount - toIndex);
+    mValueCount -= toIndex - fromIndex;
+  }
+
+  /**
+   * Computes the values range again.
    */
   private void initRange() {
     mMinValue = MathHelper.NULL_VALUE;
     mMaxValue = -MathHelper.NULL_VALUE;
-    int length = getItemCount();
-    for (int k = 0; k < length; k++) {
-      updateRange(getValue(k));
+    for (int i = 0; i < mValueCount; i++) {
+      updateRange(mValues[i]);
     }
   }
 
@@ -92,20 +314,48 @@ public class XYValueSeries extends XYSeries {
    * @param index the index in the series of the value to remove
    */
   public synchronized void remove(int index) {
-    super.remove(index);
-    double removedValue = mValue.remove(index);
+    // the values are removed first, such as the listeners notified by the
+    // series read the remaining ones
+    double removedValue = valueAt(index);
+    removeValues(index, index + 1);
     if (removedValue == mMinValue || removedValue == mMaxValue) {
       initRange();
     }
+    super.remove(index);
+  }
+
+  /**
+   * Removes the values in the given index range.
+   * 
+   * @param fromIndex the index of the first value to remove
+   * @param toIndex the index after the last value to remove
+   */
+  @Override
+  public synchronized void removeRange(int fromIndex, int toIndex) {
+    boolean extremeRemoved = false;
+    for (int index = fromIndex; index < toIndex && !extremeRemoved; index++) {
+      double removedValue = valueAt(index);
+      extremeRemoved = removedValue == mMinValue || removedValue == mMaxValue;
+    }
+    removeValues(fromIndex, toIndex);
+    if (extremeRemoved) {
+      initRange();
+    }
+    super.removeRange(fromIndex, toIndex);
   }
 
   /**
-   * Removes all the values from the series.
+   * Removes all the existing values from the series but annotations.
    */
-  public synchronized void clear() {
-    super.clear();
-    mValue.clear();
+  @Override
+  public synchronized void clearSeriesValues() {
+    if (mValuesShared) {
+      mValues = new double[DEFAULT_CAPACITY];
+      mValuesShared = false;
+    }
+    mValueCount = 0;
     initRange();
+    super.clearSeriesValues();
   }
 
   /**
@@ -115,7 +365,7 @@ public class XYValueSeries extends XYSeries {
    * @return the value
    */
   public synchronized double getValue(int index) {
-    return mValue.get(index);
+    return valueAt(index);
   }
 
   /**
@@ -136,4 +386,25 @@ public class XYValueSeries extends XYSeries {
     return mMaxValue;
   }
 
+  /**
+   * Writes the series while it cannot be modified, the values as blocks of
+   * primitive values.
+   */
+  private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(mValueCount);
+    SerializationHelper.writeDoubles(out, mValues, 0, mValueCount);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    int count = in.readInt();
+    if (count < 0) {
+      throw new IOException("Invalid values count: " + count);
+    }
+    mValues = new double[Math.max(DEFAULT_CAPACITY, count)];
+    SerializationHelper.readDoubles(in, mValues, 0, count);
+    mValueCount = count;
+  }
+
 }
@@ -117,6 +117,8 @@ public class DefaultRenderer implements Serializable {
   private boolean mInScroll;
   /** The start angle for circular charts such as pie, doughnut, etc. */
   private float mStartAngle = 0;
+  /** The renderer version, incremented on every change. */
+  private long mVersion;
 
   /**
    * Returns the chart title.
@@ -133,6 +135,7 @@ public class DefaultRenderer implements Serializable {
    * @param title the chart title
    */
   public void setChartTitle(String title) {
+    incrementVersion();
     mChartTitle = title;
   }
 
@@ -151,6 +154,7 @@ public class DefaultRenderer implements Serializable {
    * @param textSize the chart title text size
    */
   public void setChartTitleTextSize(float textSize) {
+    incrementVersion();
     mChartTitleTextSize = textSize;
   }
 
@@ -160,6 +164,7 @@ public class DefaultRenderer implements Serializable {
    * @param renderer the renderer to be added
    */
   public void addSeriesRenderer(SimpleSeriesRenderer renderer) {
+    incrementVersion();
     mRenderers.add(renderer);
   }
 
@@ -170,6 +175,7 @@ public class DefaultRenderer implements Serializable {
    * @param renderer the renderer to be added
    */
   public void addSeriesRenderer(int index, SimpleSeriesRenderer renderer) {
+    incrementVersion();
     mRenderers.add(index, renderer);
   }
 
@@ -179,6 +185,7 @@ public class DefaultRenderer implements Serializable {
    * @param renderer the renderer to be removed
    */
   public void removeSeriesRenderer(SimpleSeriesRenderer renderer) {
+    incrementVersion();
     mRenderers.remove(renderer);
   }
 
@@ -186,6 +193,7 @@ public class DefaultRenderer implements Serializable {
    * Removes all renderers from the multiple renderer.
    */
   public void removeAllRenderers() {
+    incrementVersion();
     mRenderers.clear();
   }
 
@@ -232,6 +240,7 @@ public class DefaultRenderer implements Serializable {
    * @param color the background color
    */
   public void setBackgroundColor(int color) {
+    incrementVersion();
     mBackgroundColor = color;
   }
 
@@ -250,6 +259,7 @@ public class DefaultRenderer implements Serializable {
    * @param apply the apply flag for the background color
    */
   public void setApplyBackgroundColor(boolean apply) {
+    incrementVersion();
     mApplyBackgroundColor = apply;
   }
 
@@ -272,6 +282,7 @@ public class DefaultRenderer implements Serializable {
    * @param color the axes color
    */
   public void setAxesColor(int color) {
+    incrementVersion();
     this.setXAxisColor(color);
     this.setYAxisColor(color);
   }
@@ -291,6 +302,7 @@ public class DefaultRenderer implements Serializable {
    * @param color the Y axis color
    */
   public void setYAxisColor(int color) {
+    incrementVersion();
     mYAxisColor = color;
   }
 
@@ -309,6 +321,7 @@ public class DefaultRenderer implements Serializable {
    * @param color the X axis color
    */
   public void setXAxisColor(int color) {
+    incrementVersion();
     mXAxisColor = color;
   }
 
@@ -327,6 +340,7 @@ public class DefaultRenderer implements Serializable {
    * @param color the labels color
    */
   public void setLabelsColor(int color) {
+    incrementVersion();
     mLabelsColor = color;
   }
 
@@ -345,6 +359,7 @@ public class DefaultRenderer implements Serializable {
    * @param textSize the labels text size
    */
   public void setLabelsTextSize(float textSize) {
+    incrementVersion();
     mLabelsTextSize = textSize;
   }
 
@@ -363,6 +378,7 @@ public class DefaultRenderer implements Serializable {
    * @param showAxes the visibility flag for the axes
    */
   public void setShowAxes(boolean showAxes) {
+    incrementVersion();
     mShowAxes = showAxes;
   }
 
@@ -400,6 +416,7 @@ public class DefaultRenderer implements Serializable {
    * @param showYLabels the visibility flag for the Y labels
    */
   public void setShowLabels(boolean showXLabels, boolean showYLabels) {
+    incrementVersion();
     mShowXLabels = showXLabels;
     mShowYLabels = showYLabels;
   }
@@ -410,6 +427,7 @@ public class DefaultRenderer implements Serializable {
    * @param showLabels the visibility flag for the labels
    */
   public void setShowLabels(boolean showLabels) {
+    incrementVersion();
     mShowXLabels = showLabels;
     mShowYLabels = showLabels;
   }
@@ -429,6 +447,7 @@ public class DefaultRenderer implements Serializable {
    * @param showTickMarks the visibility flag for the tick marks
    */
   public void setShowTickMarks(boolean mShowTickMarks) {
+    incrementVersion();
     this.mShowTickMarks = mShowTickMarks;
   }
 
@@ -456,6 +475,7 @@ public class DefaultRenderer implements Serializable {
    * @param showGrid the visibility flag for the X axis grid
    */
   public void setShowGridX(boolean showGrid) {
+    incrementVersion();
     mShowGridX = showGrid;
   }
 
@@ -465,6 +485,7 @@ public class DefaultRenderer implements Serializable {
    * @param width the grid size
    */
   public void setGridLineWidth(float width) {
+    incrementVersion();
     mGridLineWidth = width;
   }
 
@@ -483,6 +504,7 @@ public class DefaultRenderer implements Serializable {
    * @param showGrid the visibility flag for the Y axis grid
    */
   public void setShowGridY(boolean showGrid) {
+    incrementVersion();
     mShowGridY = showGrid;
   }
 
@@ -492,6 +514,7 @@ public class DefaultRenderer implements Serializable {
    * @param showGrid the visibility flag for the grid
    */
   public void setShowGrid(boolean showGrid) {
+    incrementVersion();
     setShowGridX(showGrid);
     setShowGridY(showGrid);
   }
@@ -520,6 +543,7 @@ public class DefaultRenderer implements Serializable {
    * @param showGrid the visibility flag for the X axis custom text grid
    */
   public void setShowCustomTextGridX(boolean showGrid) {
+    incrementVersion();
     mShowCustomTextGridX = showGrid;
   }
 
@@ -529,6 +553,7 @@ public class DefaultRenderer implements Serializable {
    * @param showGrid the visibility flag for the Y axis custom text grid
    */
   public void setShowCustomTextGridY(boolean showGrid) {
+    incrementVersion();
     mShowCustomTextGridY = showGrid;
   }
 
@@ -538,6 +563,7 @@ public class DefaultRenderer implements Serializable {
    * @param showGrid the visibility flag for the custom text grid
    */
   public void setShowCustomTextGrid(boolean showGrid) {
+    incrementVersion();
     setShowCustomTextGridX(showGrid);
     setShowCustomTextGridY(showGrid);
   }
@@ -557,6 +583,7 @@ public class DefaultRenderer implements Serializable {
    * @param showLegend the visibility flag for the legend
    */
   public void setShowLegend(boolean showLegend) {
+    incrementVersion();
     mShowLegend = showLegend;
   }
 
@@ -575,6 +602,7 @@ public class DefaultRenderer implements Serializable {
    * @param fit the fit behavior
    */
   public void setFitLegend(boolean fit) {
+    incrementVersion();
     mFitLegend = fit;
   }
 
@@ -620,6 +648,7 @@ public class DefaultRenderer implements Serializable {
    * @param textSize the legend text size
    */
   public void setLegendTextSize(float textSize) {
+    incrementVersion();
     mLegendTextSize = textSize;
   }
 
@@ -630,6 +659,7 @@ public class DefaultRenderer implements Serializable {
    * @param style the text typeface style
    */
   public void setTextTypeface(String typefaceName, int style) {
+    incrementVersion();
     mTextTypefaceName = typefaceName;
     mTextTypefaceStyle = style;
   }
@@ -640,6 +670,7 @@ public class DefaultRenderer implements Serializable {
    * @param typeface the typeface
    */
   public void setTextTypeface(Typeface typeface) {
+    incrementVersion();
     mTextTypeface = typeface;
   }
 
@@ -658,6 +689,7 @@ public class DefaultRenderer implements Serializable {
    * @param antialiasing the antialiasing
    */
   public void setAntialiasing(boolean antialiasing) {
+    incrementVersion();
     mAntialiasing = antialiasing;
   }
 
@@ -686,6 +718,7 @@ public class DefaultRenderer implements Serializable {
    * @param scale the scale value
    */
   public void setScale(float scale) {
+    incrementVersion();
     mScale = scale;
   }
 
@@ -704,6 +737,7 @@ public class DefaultRenderer implements Serializable {
    * @param enabled zoom enabled
    */
   public void setZoomEnabled(boolean enabled) {
+    incrementVersion();
     mZoomEnabled = enabled;
   }
 
@@ -722,6 +756,7 @@ public class DefaultRenderer implements Serializable {
    * @param visible if the zoom buttons are visible
    */
   public void setZoomButtonsVisible(boolean visible) {
+    incrementVersion();
     mZoomButtonsVisible = visible;
   }
 
@@ -740,6 +775,7 @@ public class DefaultRenderer implements Serializable {
    * @param enabled external zoom enabled
    */
   public void setExternalZoomEnabled(boolean enabled) {
+    incrementVersion();
     mExternalZoomEnabled = enabled;
   }
 
@@ -767,6 +803,7 @@ public class DefaultRenderer implements Serializable {
    * @param enabled pan enabled
    */
   public void setPanEnabled(boolean enabled) {
+    incrementVersion();
     mPanEnabled = enabled;
   }
 
@@ -776,6 +813,7 @@ public class DefaultRenderer implements Serializable {
    * @param rate the zoom rate
    */
   public void setZoomRate(float rate) {
+    incrementVersion();
     mZoomRate = rate;
   }
 
@@ -794,6 +832,7 @@ public class DefaultRenderer implements Serializable {
    * @param enabled click enabled
    */
   public void setClickEnabled(boolean enabled) {
+    incrementVersion();
     mClickEnabled = enabled;
   }
 
@@ -812,6 +851,7 @@ public class DefaultRenderer implements Serializable {
    * @param buffer the selectable radius
    */
   public void setSelectableBuffer(int buffer) {
+    incrementVersion();
     selectableBuffer = buffer;
   }
 
@@ -830,6 +870,7 @@ public class DefaultRenderer implements Serializable {
    * @param height the legend height
    */
   public void setLegendHeight(int height) {
+    incrementVersion();
     mLegendHeight = height;
   }
 
@@ -850,6 +891,7 @@ public class DefaultRenderer implements Serializable {
    *          top, left, bottom, right
    */
   public void setMargins(int[] margins) {
+    incrementVersion();
     mMargins = margins;
   }
 
@@ -869,6 +911,7 @@ public class DefaultRenderer implements Serializable {
    * @param inScroll if it is inside a scroll view
    */
   public void setInScroll(boolean inScroll) {
+    incrementVersion();
     mInScroll = inScroll;
   }
 
@@ -891,6 +934,7 @@ public class DefaultRenderer implements Serializable {
    * @param startAngle the start angle in degrees
    */
   public void setStartAngle(float startAngle) {
+    incrementVersion();
     while (startAngle < 0) {
       startAngle += 360;
     }
@@ -912,7 +956,25 @@ public class DefaultRenderer implements Serializable {
    * @param display if the values should be displayed as text
    */
   public void setDisplayValues(boolean display) {
+    incrementVersion();
     mDisplayValues = display;
   }
 
+
+  /**
+   * Returns the renderer version, incremented every time a rendering
+   * attribute is changed. The series renderers have their own versions.
+   * 
+   * @return the renderer version
+   */
+  public long getVersion() {
+    return mVersion;
+  }
+
+  /**
+   * Increments the renderer version, after a rendering attribute has changed.
+   */
+  protected void incrementVersion() {
+    mVersion++;
+  }
 }
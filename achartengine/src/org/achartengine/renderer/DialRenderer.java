@@ -59,6 +59,7 @@ public class DialRenderer extends DefaultRenderer {
    * @param min the dial angle start value
    */
   public void setAngleMin(double min) {
+    incrementVersion();
     mAngleMin = min;
   }
 
@@ -77,6 +78,7 @@ public class DialRenderer extends DefaultRenderer {
    * @param max the dial angle end value
    */
   public void setAngleMax(double max) {
+    incrementVersion();
     mAngleMax = max;
   }
 
@@ -95,6 +97,7 @@ public class DialRenderer extends DefaultRenderer {
    * @param min the start value on the dial
    */
   public void setMinValue(double min) {
+    incrementVersion();
     mMinValue = min;
   }
 
@@ -122,6 +125,7 @@ public class DialRenderer extends DefaultRenderer {
    * @param max the end value on the dial
    */
   public void setMaxValue(double max) {
+    incrementVersion();
     mMaxValue = max;
   }
 
@@ -149,6 +153,7 @@ public class DialRenderer extends DefaultRenderer {
    * @param spacing the minor ticks spacing
    */
   public void setMinorTicksSpacing(double spacing) {
+    incrementVersion();
     mMinorTickSpacing = spacing;
   }
 
@@ -167,6 +172,7 @@ public class DialRenderer extends DefaultRenderer {
    * @param spacing the major ticks spacing
    */
   public void setMajorTicksSpacing(double spacing) {
+    incrementVersion();
     mMajorTickSpacing = spacing;
   }
 
@@ -189,6 +195,7 @@ public class DialRenderer extends DefaultRenderer {
    * @param types the visual types
    */
   public void setVisualTypes(Type[] types) {
+    incrementVersion();
     mVisualTypes.clear();
     mVisualTypes.addAll(Arrays.asList(types));
   }
@@ -46,6 +46,8 @@ public class SimpleSeriesRenderer implements Serializable {
   private boolean mDisplayBoundingPoints = true;
   /** The chart values format. */
   private NumberFormat mChartValuesFormat;
+  /** The renderer version, incremented on every change. */
+  private long mVersion;
 
   /**
    * Returns the series color.
@@ -62,6 +64,7 @@ public class SimpleSeriesRenderer implements Serializable {
    * @param color the series color
    */
   public void setColor(int color) {
+    incrementVersion();
     mColor = color;
   }
 
@@ -80,6 +83,7 @@ public class SimpleSeriesRenderer implements Serializable {
    * @param stroke the stroke style
    */
   public void setStroke(BasicStroke stroke) {
+    incrementVersion();
     mStroke = stroke;
   }
 
@@ -98,6 +102,7 @@ public class SimpleSeriesRenderer implements Serializable {
    * @param enabled the gradient enabled
    */
   public void setGradientEnabled(boolean enabled) {
+    incrementVersion();
     mGradientEnabled = enabled;
   }
 
@@ -126,6 +131,7 @@ public class SimpleSeriesRenderer implements Serializable {
    * @param color the gradient start color
    */
   public void setGradientStart(double start, int color) {
+    incrementVersion();
     mGradientStartValue = start;
     mGradientStartColor = color;
   }
@@ -155,6 +161,7 @@ public class SimpleSeriesRenderer implements Serializable {
    * @param color the gradient stop color
    */
   public void setGradientStop(double start, int color) {
+    incrementVersion();
     mGradientStopValue = start;
     mGradientStopColor = color;
   }
@@ -174,6 +181,7 @@ public class SimpleSeriesRenderer implements Serializable {
    * @param showLegend the visibility flag for the legend item for this renderer
    */
   public void setShowLegendItem(boolean showLegend) {
+    incrementVersion();
     mShowLegendItem = showLegend;
   }
 
@@ -192,6 +200,7 @@ public class SimpleSeriesRenderer implements Serializable {
    * @param highlighted the highlighted flag for the item for this renderer
    */
   public void setHighlighted(boolean highlighted) {
+    incrementVersion();
     mHighlighted = highlighted;
   }
 
@@ -210,6 +219,7 @@ public class SimpleSeriesRenderer implements Serializable {
    * @param display the bounding points display
    */
   public void setDisplayBoundingPoints(boolean display) {
+    incrementVersion();
     mDisplayBoundingPoints = display;
   }
 
@@ -228,7 +238,25 @@ public class SimpleSeriesRenderer implements Serializable {
    * @param format the number format for chart values
    */
   public void setChartValuesFormat(NumberFormat format) {
+    incrementVersion();
     mChartValuesFormat = format;
   }
 
+
+  /**
+   * Returns the renderer version, incremented every time a rendering
+   * attribute is changed.
+   * 
+   * @return the renderer version
+   */
+  public long getVersion() {
+    return mVersion;
+  }
+
+  /**
+   * Increments the renderer version, after a rendering attribute has changed.
+   */
+  protected void incrementVersion() {
+    mVersion++;
+  }
 }
@@ -112,6 +112,8 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
   private double mZoomInLimitX = 0;
   /** The zoom in limit permitted in the axis Y */
   private double mZoomInLimitY = 0;
+  /** If the Y axis range is fit to the values visible on the X axis. */
+  private boolean mFitYToVisibleX = false;
 
   /**
    * An enum for the XY chart orientation of the X axis.
@@ -145,6 +147,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
   }
 
   public void initAxesRange(int scales) {
+    incrementVersion();
     mYTitle = new String[scales];
     yLabelsAlign = new Align[scales];
     yAxisAlign = new Align[scales];
@@ -164,6 +167,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
   }
 
   public void initAxesRangeForScale(int i) {
+    incrementVersion();
     mMinX[i] = MathHelper.NULL_VALUE;
     mMaxX[i] = -MathHelper.NULL_VALUE;
     mMinY[i] = MathHelper.NULL_VALUE;
@@ -191,6 +195,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param orientation the chart orientation
    */
   public void setOrientation(Orientation orientation) {
+    incrementVersion();
     mOrientation = orientation;
   }
 
@@ -209,6 +214,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param title the X axis title
    */
   public void setXTitle(String title) {
+    incrementVersion();
     mXTitle = title;
   }
 
@@ -237,6 +243,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param title the Y axis title
    */
   public void setYTitle(String title) {
+    incrementVersion();
     setYTitle(title, 0);
   }
 
@@ -247,6 +254,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param scale the renderer scale
    */
   public void setYTitle(String title, int scale) {
+    incrementVersion();
     mYTitle[scale] = title;
   }
 
@@ -265,6 +273,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param textSize the chart axis text size
    */
   public void setAxisTitleTextSize(float textSize) {
+    incrementVersion();
     mAxisTitleTextSize = textSize;
   }
 
@@ -283,6 +292,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param min the X axis range start value
    */
   public void setXAxisMin(double min) {
+    incrementVersion();
     setXAxisMin(min, 0);
   }
 
@@ -310,6 +320,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param max the X axis range end value
    */
   public void setXAxisMax(double max) {
+    incrementVersion();
     setXAxisMax(max, 0);
   }
 
@@ -337,6 +348,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param min the Y axis range start value
    */
   public void setYAxisMin(double min) {
+    incrementVersion();
     setYAxisMin(min, 0);
   }
 
@@ -364,6 +376,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param max the Y axis range end value
    */
   public void setYAxisMax(double max) {
+    incrementVersion();
     setYAxisMax(max, 0);
   }
 
@@ -393,6 +406,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param scale the renderer scale
    */
   public void setXAxisMin(double min, int scale) {
+    incrementVersion();
     if (!isMinXSet(scale)) {
       initialRange.get(scale)[0] = min;
     }
@@ -426,6 +440,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param scale the renderer scale
    */
   public void setXAxisMax(double max, int scale) {
+    incrementVersion();
     if (!isMaxXSet(scale)) {
       initialRange.get(scale)[1] = max;
     }
@@ -459,6 +474,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param scale the renderer scale
    */
   public void setYAxisMin(double min, int scale) {
+    incrementVersion();
     if (!isMinYSet(scale)) {
       initialRange.get(scale)[2] = min;
     }
@@ -492,6 +508,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param scale the renderer scale
    */
   public void setYAxisMax(double max, int scale) {
+    incrementVersion();
     if (!isMaxYSet(scale)) {
       initialRange.get(scale)[3] = max;
     }
@@ -523,6 +540,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param xLabels the approximate number of labels for the X axis
    */
   public void setXLabels(int xLabels) {
+    incrementVersion();
     mXLabels = xLabels;
   }
 
@@ -534,6 +552,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @deprecated use addXTextLabel instead
    */
   public void addTextLabel(double x, String text) {
+    incrementVersion();
     addXTextLabel(x, text);
   }
 
@@ -544,6 +563,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param text the text label
    */
   public synchronized void addXTextLabel(double x, String text) {
+    incrementVersion();
     mXTextLabels.put(x, text);
   }
 
@@ -553,6 +573,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param x the X axis value
    */
   public synchronized void removeXTextLabel(double x) {
+    incrementVersion();
     mXTextLabels.remove(x);
   }
 
@@ -581,6 +602,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @deprecated use clearXTextLabels instead
    */
   public void clearTextLabels() {
+    incrementVersion();
     clearXTextLabels();
   }
 
@@ -588,6 +610,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * Clears the existing text labels on the X axis.
    */
   public synchronized void clearXTextLabels() {
+    incrementVersion();
     mXTextLabels.clear();
   }
 
@@ -606,9 +629,31 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param rounded rounded values to be used
    */
   public void setXRoundedLabels(boolean rounded) {
+    incrementVersion();
     mXRoundedLabels = rounded;
   }
 
+  /**
+   * Returns if the Y axis range is fit to the values visible on the X axis.
+   * 
+   * @return if the Y axis range follows the visible values
+   */
+  public boolean isFitYToVisibleX() {
+    return mFitYToVisibleX;
+  }
+
+  /**
+   * Sets if the Y axis range is fit to the values visible on the X axis. When
+   * enabled, the Y axis range is computed again on every draw, after a pan or
+   * a zoom, and overrides any Y axis minimum or maximum that was set.
+   * 
+   * @param fit if the Y axis range follows the visible values
+   */
+  public void setFitYToVisibleX(boolean fit) {
+    incrementVersion();
+    mFitYToVisibleX = fit;
+  }
+
   /**
    * Adds a new text label for the specified Y axis value.
    * 
@@ -616,6 +661,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param text the text label
    */
   public void addYTextLabel(double y, String text) {
+    incrementVersion();
     addYTextLabel(y, text, 0);
   }
 
@@ -625,6 +671,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param y the Y axis value
    */
   public void removeYTextLabel(double y) {
+    incrementVersion();
     removeYTextLabel(y, 0);
   }
 
@@ -636,6 +683,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param scale the renderer scale
    */
   public synchronized void addYTextLabel(double y, String text, int scale) {
+    incrementVersion();
     mYTextLabels.get(scale).put(y, text);
   }
 
@@ -646,6 +694,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param scale the renderer scale
    */
   public synchronized void removeYTextLabel(double y, int scale) {
+    incrementVersion();
     mYTextLabels.get(scale).remove(y);
   }
 
@@ -693,6 +742,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * Clears the existing text labels on the Y axis.
    */
   public void clearYTextLabels() {
+    incrementVersion();
     clearYTextLabels(0);
   }
 
@@ -702,6 +752,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param scale the renderer scale
    */
   public synchronized void clearYTextLabels(int scale) {
+    incrementVersion();
     mYTextLabels.get(scale).clear();
   }
 
@@ -720,6 +771,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param yLabels the approximate number of labels for the Y axis
    */
   public void setYLabels(int yLabels) {
+    incrementVersion();
     mYLabels = yLabels;
   }
 
@@ -738,6 +790,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param width width in pixels
    */
   public void setBarWidth(float width) {
+    incrementVersion();
     mBarWidth = width;
   }
 
@@ -775,6 +828,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param enabledY pan enabled on Y axis
    */
   public void setPanEnabled(boolean enabledX, boolean enabledY) {
+    incrementVersion();
     mPanXEnabled = enabledX;
     mPanYEnabled = enabledY;
   }
@@ -785,6 +839,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   @Override
   public void setPanEnabled(final boolean enabled) {
+    incrementVersion();
     setPanEnabled(enabled, enabled);
   }
 
@@ -822,6 +877,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param enabledY zoom enabled on Y axis
    */
   public void setZoomEnabled(boolean enabledX, boolean enabledY) {
+    incrementVersion();
     mZoomXEnabled = enabledX;
     mZoomYEnabled = enabledY;
   }
@@ -853,6 +909,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param spacing the spacing between bars coefficient
    */
   public void setBarSpacing(double spacing) {
+    incrementVersion();
     mBarSpacing = spacing;
   }
 
@@ -871,6 +928,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param color the margins color
    */
   public void setMarginsColor(int color) {
+    incrementVersion();
     mMarginsColor = color;
   }
 
@@ -890,6 +948,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param color the grid color
    */
   public void setGridColor(int color) {
+    incrementVersion();
     setGridColor(color, 0);
   }
 
@@ -900,6 +959,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param scale the renderer scale
    */
   public void setGridColor(int color, int scale) {
+    incrementVersion();
     mGridColors[scale] = color;
   }
 
@@ -920,6 +980,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param panLimits the pan limits
    */
   public void setPanLimits(double[] panLimits) {
+    incrementVersion();
     mPanLimits = panLimits;
   }
 
@@ -940,6 +1001,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param zoomLimits the zoom limits
    */
   public void setZoomLimits(double[] zoomLimits) {
+    incrementVersion();
     mZoomLimits = zoomLimits;
   }
 
@@ -958,6 +1020,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param angle the rotation angle of labels for the X axis
    */
   public void setXLabelsAngle(float angle) {
+    incrementVersion();
     mXLabelsAngle = angle;
   }
 
@@ -976,6 +1039,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param angle the rotation angle of labels for the Y axis
    */
   public void setYLabelsAngle(float angle) {
+    incrementVersion();
     mYLabelsAngle = angle;
   }
 
@@ -994,10 +1058,12 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param size the point size
    */
   public void setPointSize(float size) {
+    incrementVersion();
     mPointSize = size;
   }
 
   public void setRange(double[] range) {
+    incrementVersion();
     setRange(range, 0);
   }
 
@@ -1009,6 +1075,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param scale the renderer scale
    */
   public void setRange(double[] range, int scale) {
+    incrementVersion();
     setXAxisMin(range[0], scale);
     setXAxisMax(range[1], scale);
     setYAxisMin(range[2], scale);
@@ -1055,6 +1122,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    *          maxY
    */
   public void setInitialRange(double[] range) {
+    incrementVersion();
     setInitialRange(range, 0);
   }
 
@@ -1066,6 +1134,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param scale the renderer scale
    */
   public void setInitialRange(double[] range, int scale) {
+    incrementVersion();
     initialRange.put(scale, range);
   }
 
@@ -1093,6 +1162,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param color the X axis labels color
    */
   public void setXLabelsColor(int color) {
+    incrementVersion();
     mXLabelsColor = color;
   }
 
@@ -1103,6 +1173,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param color the Y axis labels color
    */
   public void setYLabelsColor(int scale, int color) {
+    incrementVersion();
     mYLabelsColor[scale] = color;
   }
 
@@ -1121,6 +1192,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param align the X labels alignment
    */
   public void setXLabelsAlign(Align align) {
+    incrementVersion();
     xLabelsAlign = align;
   }
 
@@ -1135,6 +1207,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
   }
 
   public void setYLabelsAlign(Align align) {
+    incrementVersion();
     setYLabelsAlign(align, 0);
   }
 
@@ -1143,6 +1216,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
   }
 
   public void setYAxisAlign(Align align, int scale) {
+    incrementVersion();
     yAxisAlign[scale] = align;
   }
 
@@ -1152,6 +1226,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param align the Y labels alignment
    */
   public void setYLabelsAlign(Align align, int scale) {
+    incrementVersion();
     yLabelsAlign[scale] = align;
   }
 
@@ -1170,6 +1245,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param padding the amount of padding between the axis and the label
    */
   public void setXLabelsPadding(float padding) {
+    incrementVersion();
     mXLabelsPadding = padding;
   }
 
@@ -1188,6 +1264,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param padding the amount of vertical padding
    */
   public void setYLabelsVerticalPadding(float padding) {
+    incrementVersion();
     mYLabelsVerticalPadding = padding;
   }
 
@@ -1206,6 +1283,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param padding the amount of padding between the axis and the label
    */
   public void setYLabelsPadding(float padding) {
+    incrementVersion();
     mYLabelsPadding = padding;
   }
 
@@ -1226,6 +1304,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @deprecated use setXLabelFormat and setYLabelFormat instead
    */
   public void setLabelFormat(NumberFormat format) {
+    incrementVersion();
     setXLabelFormat(format);
   }
 
@@ -1244,6 +1323,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param format the number format for X axis labels
    */
   public void setXLabelFormat(NumberFormat format) {
+    incrementVersion();
     mXLabelFormat = format;
   }
 
@@ -1264,6 +1344,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * @param scale the renderer scale
    */
   public void setYLabelFormat(NumberFormat format, int scale) {
+    incrementVersion();
     mYLabelFormat[scale] = format;
   }
 
@@ -1289,6 +1370,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * {@link #getXAxisMin()} and {@link #getXAxisMax()}.
    */
   public void setZoomInLimitX(double zoomInLimitX) {
+    incrementVersion();
     this.mZoomInLimitX = zoomInLimitX;
   }
 
@@ -1314,6 +1396,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    * {@link #getYAxisMin()} and {@link #getYAxisMax()}
    */
   public void setZoomInLimitY(double zoomInLimitY) {
+    incrementVersion();
     this.mZoomInLimitY = zoomInLimitY;
   }
 
@@ -19,6 +19,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.achartengine.chart.Decimator;
 import org.achartengine.chart.PointStyle;
 import org.achartengine.renderer.XYSeriesRenderer.FillOutsideLine.Type;
 
@@ -55,6 +56,10 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
   private Align mAnnotationsTextAlign = Align.CENTER;
   /** The annotations color. */
   private int mAnnotationsColor = DefaultRenderer.TEXT_COLOR;
+  /** If only a summary of the values is drawn when they are dense. */
+  private boolean mLevelOfDetailEnabled = false;
+  /** The decimator selecting the points to be drawn. */
+  private Decimator mDecimator;
 
   /**
    * A descriptor for the line fill behavior.
@@ -150,6 +155,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    */
   @Deprecated
   public void setFillBelowLine(boolean fill) {
+    incrementVersion();
     mFillBelowLine.clear();
     if (fill) {
       mFillBelowLine.add(new FillOutsideLine(Type.BOUNDS_ALL));
@@ -175,6 +181,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    * @param fill the type of the filling
    */
   public void addFillOutsideLine(FillOutsideLine fill) {
+    incrementVersion();
     mFillBelowLine.add(fill);
   }
 
@@ -193,6 +200,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    * @param fill the points fill flag value
    */
   public void setFillPoints(boolean fill) {
+    incrementVersion();
     mFillPoints = fill;
   }
 
@@ -205,6 +213,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    */
   @Deprecated
   public void setFillBelowLineColor(int color) {
+    incrementVersion();
     if (mFillBelowLine.size() > 0) {
       mFillBelowLine.get(0).setColor(color);
     }
@@ -225,6 +234,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    * @param style the point style
    */
   public void setPointStyle(PointStyle style) {
+    incrementVersion();
     mPointStyle = style;
   }
 
@@ -243,6 +253,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    * @param strokeWidth the point stroke width in pixels
    */
   public void setPointStrokeWidth(float strokeWidth) {
+    incrementVersion();
     mPointStrokeWidth = strokeWidth;
   }
 
@@ -261,6 +272,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    * @param lineWidth the line width
    */
   public void setLineWidth(float lineWidth) {
+    incrementVersion();
     mLineWidth = lineWidth;
   }
 
@@ -279,6 +291,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    * @param display if the chart point values should be displayed as text
    */
   public void setDisplayChartValues(boolean display) {
+    incrementVersion();
     mDisplayChartValues = display;
   }
 
@@ -297,6 +310,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    * @param distance the chart values minimum distance
    */
   public void setDisplayChartValuesDistance(int distance) {
+    incrementVersion();
     mDisplayChartValuesDistance = distance;
   }
 
@@ -315,6 +329,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    * @param textSize the chart values text size
    */
   public void setChartValuesTextSize(float textSize) {
+    incrementVersion();
     mChartValuesTextSize = textSize;
   }
 
@@ -333,6 +348,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    * @param align the chart values text align
    */
   public void setChartValuesTextAlign(Align align) {
+    incrementVersion();
     mChartValuesTextAlign = align;
   }
 
@@ -352,6 +368,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    *          point
    */
   public void setChartValuesSpacing(float spacing) {
+    incrementVersion();
     mChartValuesSpacing = spacing;
   }
 
@@ -370,6 +387,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    * @param textSize the annotations text size
    */
   public void setAnnotationsTextSize(float textSize) {
+    incrementVersion();
     mAnnotationsTextSize = textSize;
   }
 
@@ -388,6 +406,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    * @param align the chart values text align
    */
   public void setAnnotationsTextAlign(Align align) {
+    incrementVersion();
     mAnnotationsTextAlign = align;
   }
 
@@ -406,7 +425,54 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    * @param color the annotations color
    */
   public void setAnnotationsColor(int color) {
+    incrementVersion();
     mAnnotationsColor = color;
   }
 
+  /**
+   * Returns if only a summary of the values is drawn when there are more
+   * values than pixels on the X axis.
+   * 
+   * @return if the level of detail is enabled
+   */
+  public boolean isLevelOfDetailEnabled() {
+    return mLevelOfDetailEnabled;
+  }
+
+  /**
+   * Sets if only a summary of the values is drawn when there are more values
+   * than pixels on the X axis. For every group of values falling in about one
+   * pixel, only the first, minimum, maximum and last ones are drawn, such as
+   * the drawing time depends on the chart width and not on the series size.
+   * It is meant for line charts.
+   * 
+   * @param enabled if the level of detail is enabled
+   */
+  public void setLevelOfDetailEnabled(boolean enabled) {
+    incrementVersion();
+    mLevelOfDetailEnabled = enabled;
+  }
+
+  /**
+   * Returns the decimator selecting the points to be drawn.
+   * 
+   * @return the decimator, or null if all the points are drawn
+   */
+  public Decimator getDecimator() {
+    return mDecimator;
+  }
+
+  /**
+   * Sets the decimator selecting the points to be drawn, for instance a
+   * {@link org.achartengine.chart.LttbDecimator}. The decimation runs on the
+   * visible points, before they are drawn, and the clickable areas keep the
+   * index of the points in the series.
+   * 
+   * @param decimator the decimator, or null to draw all the points
+   */
+  public void setDecimator(Decimator decimator) {
+    incrementVersion();
+    mDecimator = decimator;
+  }
+
 }
@@ -55,7 +55,9 @@ public abstract class AbstractTool {
   }
 
   /**
-   * Sets the range to the calculated one, if not already set.
+   * Sets the range to the calculated one, if not already set. When the Y axis
+   * range is fit to the visible values, the Y range is always set to the
+   * calculated one, the one last drawn.
    * 
    * @param range the range
    * @param scale the scale
@@ -64,6 +66,7 @@ public abstract class AbstractTool {
     if (mChart instanceof XYChart) {
       double[] calcRange = ((XYChart) mChart).getCalcRange(scale);
       if (calcRange != null) {
+        boolean fitY = mRenderer.isFitYToVisibleX();
         if (!mRenderer.isMinXSet(scale)) {
           range[0] = calcRange[0];
           mRenderer.setXAxisMin(range[0], scale);
@@ -72,11 +75,11 @@ public abstract class AbstractTool {
           range[1] = calcRange[1];
           mRenderer.setXAxisMax(range[1], scale);
         }
-        if (!mRenderer.isMinYSet(scale)) {
+        if (!mRenderer.isMinYSet(scale) || fitY && range[2] != calcRange[2]) {
           range[2] = calcRange[2];
           mRenderer.setYAxisMin(range[2], scale);
         }
-        if (!mRenderer.isMaxYSet(scale)) {
+        if (!mRenderer.isMaxYSet(scale) || fitY && range[3] != calcRange[3]) {
           range[3] = calcRange[3];
           mRenderer.setYAxisMax(range[3], scale);
         }
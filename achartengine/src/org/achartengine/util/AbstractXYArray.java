@@ -0,0 +1,477 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * An index addressable storage of XY values sorted by the X values. The
+ * subclasses provide the values, the lookups are implemented on top of the
+ * values accessors and can be overridden with faster versions. The storage is
+ * read only unless the modification methods are overridden.
+ */
+public abstract class AbstractXYArray implements Serializable {
+
+  /**
+   * Returns the number of stored values.
+   *
+   * @return the values count
+   */
+  public abstract int size();
+
+  /**
+   * Returns the X value at the given index.
+   *
+   * @param index the index
+   * @return the X value
+   */
+  public abstract double getXByIndex(int index);
+
+  /**
+   * Returns the Y value at the given index.
+   *
+   * @param index the index
+   * @return the Y value
+   */
+  public abstract double getYByIndex(int index);
+
+  /**
+   * Makes sure the storage can hold the provided number of values without
+   * being reallocated.
+   *
+   * @param capacity the minimum capacity
+   */
+  public void ensureCapacity(int capacity) {
+    // nothing to reserve by default
+  }
+
+  /**
+   * Adds a new value at the position given by its X value, after the values
+   * having the same X.
+   *
+   * @param x the X value
+   * @param y the Y value
+   * @return the index the value was added at
+   */
+  public int put(double x, double y) {
+    int index = getHigherIndex(x);
+    put(index, x, y);
+    return index;
+  }
+
+  /**
+   * Adds a new value at the specified index. The caller must make sure the X
+   * values remain sorted.
+   *
+   * @param index the index
+   * @param x the X value
+   * @param y the Y value
+   */
+  public void put(int index, double x, double y) {
+    throw new UnsupportedOperationException("The values are read only");
+  }
+
+  /**
+   * Appends the given values after the stored ones. The caller must make sure
+   * the X values remain sorted.
+   *
+   * @param x the X values
+   * @param y the Y values
+   * @param offset the offset of the first value in the provided arrays
+   * @param length the number of values to append
+   */
+  public void putAll(double[] x, double[] y, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      put(size(), x[offset + i], y[offset + i]);
+    }
+  }
+
+  /**
+   * Removes the value at the given index.
+   *
+   * @param index the index
+   */
+  public void removeByIndex(int index) {
+    throw new UnsupportedOperationException("The values are read only");
+  }
+
+  /**
+   * Removes the values in the given index range.
+   *
+   * @param fromIndex the start index, inclusive
+   * @param toIndex the end index, exclusive
+   */
+  public void removeRange(int fromIndex, int toIndex) {
+    checkRange(fromIndex, toIndex);
+    for (int index = toIndex - 1; index >= fromIndex; index--) {
+      removeByIndex(index);
+    }
+  }
+
+  /**
+   * Checks the given index range is inside the stored values.
+   *
+   * @param fromIndex the start index, inclusive
+   * @param toIndex the end index, exclusive
+   */
+  protected void checkRange(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: "
+          + size());
+    }
+  }
+
+  /**
+   * Removes all the values.
+   */
+  public void clear() {
+    throw new UnsupportedOperationException("The values are read only");
+  }
+
+  /**
+   * Searches for the given X value.
+   *
+   * @param key the X value
+   * @return the index of the value, if found, otherwise (-(insertion point) -
+   *         1), the same as {@link java.util.Arrays#binarySearch(double[], double)}
+   */
+  public int getIndexForKey(double key) {
+    int low = 0;
+    int high = size() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      double value = getXByIndex(mid);
+      if (value < key) {
+        low = mid + 1;
+      } else if (value > key) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  /**
+   * Returns the index of the first value having the X greater than or equal to
+   * the provided one.
+   *
+   * @param x the X value
+   * @return the index, or the values count if there is no such value
+   */
+  public int getCeilingIndex(double x) {
+    int low = 0;
+    int high = size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (getXByIndex(mid) < x) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the index of the first value having the X strictly greater than
+   * the provided one.
+   *
+   * @param x the X value
+   * @return the index, or the values count if there is no such value
+   */
+  public int getHigherIndex(double x) {
+    int low = 0;
+    int high = size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (getXByIndex(mid) <= x) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the index window of the values in the given X range.
+   *
+   * @param start the start X value
+   * @param stop the stop X value
+   * @param beforeAfterPoints if the values before and after the first and last
+   *          ones in the range must be included
+   * @return the index of the first value in the window and the index after
+   *         the last one
+   */
+  public int[] getIndexWindow(double start, double stop, boolean beforeAfterPoints) {
+    int fromIndex = getCeilingIndex(start);
+    int toIndex = getCeilingIndex(stop);
+    if (beforeAfterPoints) {
+      // we need to add one point before the start and one point after the end
+      // (if there are any) to ensure that line doesn't end before the end of
+      // the screen
+      fromIndex = Math.max(0, fromIndex - 1);
+      toIndex = Math.min(size(), toIndex + 1);
+    }
+    return new int[] { fromIndex, toIndex };
+  }
+
+  /**
+   * Returns the index of the minimum Y value in the given index range. Null
+   * values are ignored.
+   *
+   * @param fromIndex the start index, inclusive
+   * @param toIndex the end index, exclusive
+   * @return the index of the minimum Y value, or -1 if there is none
+   */
+  public int getMinYIndex(int fromIndex, int toIndex) {
+    return getExtremeYIndex(fromIndex, toIndex, false);
+  }
+
+  /**
+   * Returns the index of the maximum Y value in the given index range. Null
+   * values are ignored.
+   *
+   * @param fromIndex the start index, inclusive
+   * @param toIndex the end index, exclusive
+   * @return the index of the maximum Y value, or -1 if there is none
+   */
+  public int getMaxYIndex(int fromIndex, int toIndex) {
+    return getExtremeYIndex(fromIndex, toIndex, true);
+  }
+
+  private int getExtremeYIndex(int fromIndex, int toIndex, boolean max) {
+    fromIndex = Math.max(0, fromIndex);
+    toIndex = Math.min(size(), toIndex);
+    int result = -1;
+    double extreme = 0;
+    for (int index = fromIndex; index < toIndex; index++) {
+      double y = getYByIndex(index);
+      if (isValue(y) && (result < 0 || (max ? y > extreme : y < extreme))) {
+        result = index;
+        extreme = y;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the indexes of the values summarizing the given index range with
+   * about the given number of buckets. Every bucket contributes its first,
+   * minimum, maximum and last values, in index order. The values in the range
+   * are read once.
+   *
+   * @param fromIndex the start index, inclusive
+   * @param toIndex the end index, exclusive
+   * @param buckets the wanted number of buckets, usually the width in pixels
+   * @return the ascending indexes of the values to be drawn, or null if the
+   *         range has too few values for the summary to be useful
+   */
+  public int[] getLevelOfDetail(int fromIndex, int toIndex, int buckets) {
+    fromIndex = Math.max(0, fromIndex);
+    toIndex = Math.min(size(), toIndex);
+    int length = toIndex - fromIndex;
+    int size = (int) Math.ceil((double) length / Math.max(1, buckets));
+    if (size <= 4) {
+      // a bucket would not have less points than its summary
+      return null;
+    }
+    int[] result = new int[4 * (length / size + 1)];
+    int count = 0;
+    for (int index = fromIndex; index < toIndex; index += size) {
+      int last = Math.min(index + size, toIndex) - 1;
+      int min = getMinYIndex(index, last + 1);
+      int max = getMaxYIndex(index, last + 1);
+      result[count++] = index;
+      if (min > max) {
+        int swap = min;
+        min = max;
+        max = swap;
+      }
+      if (min > index && min < last) {
+        result[count++] = min;
+      }
+      if (max > index && max < last && max != min) {
+        result[count++] = max;
+      }
+      if (last > index) {
+        result[count++] = last;
+      }
+    }
+    int[] indexes = new int[count];
+    System.arraycopy(result, 0, indexes, 0, count);
+    return indexes;
+  }
+
+  /**
+   * Returns a read only snapshot of the values, not affected by the later
+   * modifications. By default, the values are copied.
+   *
+   * @param rangeIndex if range queries, like the Y extremes in an index range,
+   *          will be run on the snapshot
+   * @return the snapshot
+   */
+  public AbstractXYArray snapshot(boolean rangeIndex) {
+    int size = size();
+    double[] x = new double[size];
+    double[] y = new double[size];
+    for (int index = 0; index < size; index++) {
+      x[index] = getXByIndex(index);
+      y[index] = getYByIndex(index);
+    }
+    return new IndexXYArray(x, y, 0, size, null);
+  }
+
+  /**
+   * Returns if the provided Y is a value, not a null value.
+   *
+   * @param y the Y value
+   * @return if the Y is a value
+   */
+  protected static boolean isValue(double y) {
+    return y == y && y != MathHelper.NULL_VALUE;
+  }
+
+  /**
+   * Returns a sorted map view over the values in the given index range. The
+   * view reads through to this array.
+   *
+   * @param fromIndex the start index, inclusive
+   * @param toIndex the end index, exclusive
+   * @return the sorted map view
+   */
+  public SortedMap<Double, Double> subMap(int fromIndex, int toIndex) {
+    return new RangeMap(fromIndex, Math.max(fromIndex, toIndex));
+  }
+
+  /**
+   * A sorted map view over an index range of the XY array.
+   */
+  private class RangeMap extends AbstractMap<Double, Double> implements SortedMap<Double, Double> {
+    /** The start index, inclusive. */
+    private final int mFrom;
+    /** The end index, exclusive. */
+    private final int mTo;
+
+    public RangeMap(int from, int to) {
+      mFrom = from;
+      mTo = to;
+    }
+
+    private int end() {
+      return Math.min(mTo, AbstractXYArray.this.size());
+    }
+
+    private int indexFor(Object key) {
+      if (!(key instanceof Double)) {
+        return -1;
+      }
+      int index = getIndexForKey((Double) key);
+      if (index < mFrom || index >= end()) {
+        return -1;
+      }
+      return index;
+    }
+
+    @Override
+    public int size() {
+      return Math.max(0, end() - mFrom);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return indexFor(key) >= 0;
+    }
+
+    @Override
+    public Double get(Object key) {
+      int index = indexFor(key);
+      return index >= 0 ? getYByIndex(index) : null;
+    }
+
+    @Override
+    public Set<Entry<Double, Double>> entrySet() {
+      return new AbstractSet<Entry<Double, Double>>() {
+        @Override
+        public Iterator<Entry<Double, Double>> iterator() {
+          return new Iterator<Entry<Double, Double>>() {
+            private int mIndex = mFrom;
+
+            public boolean hasNext() {
+              return mIndex < end();
+            }
+
+            public Entry<Double, Double> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              int index = mIndex++;
+              return new XYEntry<Double, Double>(getXByIndex(index), getYByIndex(index));
+            }
+
+            public void remove() {
+              throw new UnsupportedOperationException();
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return RangeMap.this.size();
+        }
+      };
+    }
+
+    public Comparator<? super Double> comparator() {
+      return null;
+    }
+
+    public SortedMap<Double, Double> subMap(Double fromKey, Double toKey) {
+      return new RangeMap(Math.max(mFrom, getCeilingIndex(fromKey)), Math.min(end(),
+          getCeilingIndex(toKey)));
+    }
+
+    public SortedMap<Double, Double> headMap(Double toKey) {
+      return new RangeMap(mFrom, Math.min(end(), getCeilingIndex(toKey)));
+    }
+
+    public SortedMap<Double, Double> tailMap(Double fromKey) {
+      return new RangeMap(Math.max(mFrom, getCeilingIndex(fromKey)), end());
+    }
+
+    public Double firstKey() {
+      if (size() == 0) {
+        throw new NoSuchElementException();
+      }
+      return getXByIndex(mFrom);
+    }
+
+    public Double lastKey() {
+      if (size() == 0) {
+        throw new NoSuchElementException();
+      }
+      return getXByIndex(end() - 1);
+    }
+  }
+}
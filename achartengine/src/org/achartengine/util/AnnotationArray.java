@@ -0,0 +1,212 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A storage of text annotations sorted by their X value, the annotations
+ * sharing the same X being kept in insertion order. The annotations in an X
+ * range are found with a binary search, such as only the visible ones are
+ * drawn. The text bounds measured when drawing are cached along, for the text
+ * style they were measured with.
+ */
+public class AnnotationArray implements Serializable {
+  /** The annotations coordinates. */
+  private final IndexXYArray mXY = new IndexXYArray();
+  /** The annotations texts, aligned with the coordinates. */
+  private final List<String> mTexts = new ArrayList<String>();
+  /** The length of the longest text added. */
+  private int mMaxLength;
+  /** The measured text widths, -1 if not measured, or null if none was. */
+  private transient float[] mWidths;
+  /** The measured text heights. */
+  private transient float[] mHeights;
+  /** The key of the text style the bounds were measured with. */
+  private transient int mStyle;
+
+  /**
+   * Adds a new annotation, after the ones sharing the same X.
+   *
+   * @param text the annotation text
+   * @param x the X value
+   * @param y the Y value
+   * @return the index the annotation was added at
+   */
+  public synchronized int add(String text, double x, double y) {
+    int index = mXY.put(x, y);
+    mTexts.add(index, text);
+    mMaxLength = Math.max(mMaxLength, text.length());
+    if (mWidths != null) {
+      int size = mTexts.size();
+      if (size > mWidths.length) {
+        int length = Math.max(size, mWidths.length + (mWidths.length >> 1) + 1);
+        float[] widths = new float[length];
+        float[] heights = new float[length];
+        System.arraycopy(mWidths, 0, widths, 0, size - 1);
+        System.arraycopy(mHeights, 0, heights, 0, size - 1);
+        mWidths = widths;
+        mHeights = heights;
+      }
+      System.arraycopy(mWidths, index, mWidths, index + 1, size - index - 1);
+      System.arraycopy(mHeights, index, mHeights, index + 1, size - index - 1);
+      mWidths[index] = -1;
+    }
+    return index;
+  }
+
+  /**
+   * Removes the annotation at the given index.
+   *
+   * @param index the index
+   */
+  public synchronized void remove(int index) {
+    mXY.removeByIndex(index);
+    mTexts.remove(index);
+    if (mWidths != null) {
+      int size = mTexts.size();
+      System.arraycopy(mWidths, index + 1, mWidths, index, size - index);
+      System.arraycopy(mHeights, index + 1, mHeights, index, size - index);
+    }
+  }
+
+  /**
+   * Removes all the annotations.
+   */
+  public synchronized void clear() {
+    mXY.clear();
+    mTexts.clear();
+    mMaxLength = 0;
+    mWidths = null;
+    mHeights = null;
+  }
+
+  /**
+   * Returns the number of annotations.
+   *
+   * @return the annotations count
+   */
+  public synchronized int size() {
+    return mTexts.size();
+  }
+
+  /**
+   * Returns the text of the annotation at the given index.
+   *
+   * @param index the index
+   * @return the annotation text
+   */
+  public synchronized String getText(int index) {
+    return mTexts.get(index);
+  }
+
+  /**
+   * Returns the X value of the annotation at the given index.
+   *
+   * @param index the index
+   * @return the X value
+   */
+  public synchronized double getX(int index) {
+    return mXY.getXByIndex(index);
+  }
+
+  /**
+   * Returns the Y value of the annotation at the given index.
+   *
+   * @param index the index
+   * @return the Y value
+   */
+  public synchronized double getY(int index) {
+    return mXY.getYByIndex(index);
+  }
+
+  /**
+   * Returns the length of the longest text added since the annotations were
+   * last cleared. It gives a bound of the text extent around the annotation
+   * points, before the texts are measured.
+   *
+   * @return the maximum text length
+   */
+  public synchronized int getMaxLength() {
+    return mMaxLength;
+  }
+
+  /**
+   * Returns the index window of the annotations in the given X range.
+   *
+   * @param start the start X value, inclusive
+   * @param stop the stop X value, inclusive
+   * @return the index of the first annotation in the window and the index
+   *         after the last one
+   */
+  public synchronized int[] getIndexWindow(double start, double stop) {
+    return new int[] { mXY.getCeilingIndex(start), mXY.getHigherIndex(stop) };
+  }
+
+  /**
+   * Returns the cached text width of the annotation at the given index.
+   *
+   * @param index the index
+   * @param style the key of the text style, like its size and typeface
+   * @return the text width, or -1 if it was not measured with that style
+   */
+  public synchronized float getWidth(int index, int style) {
+    if (mWidths == null || style != mStyle) {
+      return -1;
+    }
+    return mWidths[index];
+  }
+
+  /**
+   * Returns the cached text height of the annotation at the given index.
+   *
+   * @param index the index
+   * @param style the key of the text style, like its size and typeface
+   * @return the text height, or -1 if it was not measured with that style
+   */
+  public synchronized float getHeight(int index, int style) {
+    if (mWidths == null || style != mStyle || mWidths[index] < 0) {
+      return -1;
+    }
+    return mHeights[index];
+  }
+
+  /**
+   * Caches the measured text bounds of the annotation at the given index. The
+   * bounds measured with another style are discarded.
+   *
+   * @param index the index
+   * @param style the key of the text style, like its size and typeface
+   * @param width the text width
+   * @param height the text height
+   */
+  public synchronized void setBounds(int index, int style, float width, float height) {
+    int size = mTexts.size();
+    if (mWidths == null || style != mStyle) {
+      if (mWidths == null || mWidths.length < size) {
+        mWidths = new float[size];
+        mHeights = new float[size];
+      }
+      Arrays.fill(mWidths, -1);
+      mStyle = style;
+    }
+    mWidths[index] = width;
+    mHeights[index] = height;
+  }
+}
@@ -0,0 +1,831 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compressed storage of XY values sorted by X, for long series of samples
+ * taken at near constant intervals. The values are kept in blocks encoded
+ * like in the Gorilla time series database: the X values as deltas of
+ * deltas, when they are integers like timestamps, and the Y values as the
+ * XOR with the previous value. Every block has a header with its X range and
+ * Y extremes, such as lookups and range queries skip the blocks without
+ * decoding them. The values are appended to an open tail block, which is
+ * encoded when full. The last decoded block is cached, such as reading the
+ * values in order decodes every block once.
+ */
+public class CompressedXYArray extends AbstractXYArray {
+  /** The default number of values in a block. */
+  public static final int DEFAULT_BLOCK_SIZE = 256;
+  /** The largest integer X values encoded as deltas of deltas. */
+  private static final double MAX_INTEGRAL = 1L << 53;
+  /** The number of values in a block. */
+  private final int mBlockSize;
+  /** The encoded blocks. */
+  private final List<Block> mBlocks;
+  /** The X values of the open tail block. */
+  private final double[] mTailX;
+  /** The Y values of the open tail block. */
+  private final double[] mTailY;
+  /** The number of values in the open tail block. */
+  private int mTailSize;
+  /** The number of stored values. */
+  private int mSize;
+  /**
+   * The offset of the block starts, increased when the first values are
+   * removed such as the remaining blocks do not need to be updated.
+   */
+  private int mStartOffset;
+  /**
+   * The number of removed values at the head of the first block, which is
+   * dropped once all its values are removed instead of being encoded again.
+   */
+  private int mHeadSkip;
+  /** If this array is a snapshot, which cannot be modified. */
+  private final boolean mReadOnly;
+  /** The position of the decoded block in the blocks list, -1 if none. */
+  private transient int mCachedBlock = -1;
+  /** The decoded X values. */
+  private transient double[] mCacheX;
+  /** The decoded Y values. */
+  private transient double[] mCacheY;
+
+  /**
+   * Builds a new empty compressed XY array.
+   */
+  public CompressedXYArray() {
+    this(DEFAULT_BLOCK_SIZE);
+  }
+
+  /**
+   * Builds a new empty compressed XY array.
+   *
+   * @param blockSize the number of values in a block
+   */
+  public CompressedXYArray(int blockSize) {
+    if (blockSize < 2) {
+      throw new IllegalArgumentException("The block size must be at least 2");
+    }
+    mBlockSize = blockSize;
+    mBlocks = new ArrayList<Block>();
+    mTailX = new double[blockSize];
+    mTailY = new double[blockSize];
+    mReadOnly = false;
+  }
+
+  /**
+   * Builds a read only snapshot of the provided array. The encoded blocks are
+   * never modified, so they are shared.
+   *
+   * @param source the source array
+   */
+  private CompressedXYArray(CompressedXYArray source) {
+    mBlockSize = source.mBlockSize;
+    mBlocks = new ArrayList<Block>(source.mBlocks);
+    mTailX = new double[source.mTailSize];
+    mTailY = new double[source.mTailSize];
+    System.arraycopy(source.mTailX, 0, mTailX, 0, source.mTailSize);
+    System.arraycopy(source.mTailY, 0, mTailY, 0, source.mTailSize);
+    mTailSize = source.mTailSize;
+    mSize = source.mSize;
+    mStartOffset = source.mStartOffset;
+    mHeadSkip = source.mHeadSkip;
+    mReadOnly = true;
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    mCachedBlock = -1;
+  }
+
+  @Override
+  public int size() {
+    return mSize;
+  }
+
+  /**
+   * Returns the number of bytes used by the encoded blocks. The open tail
+   * block and the headers are not included.
+   *
+   * @return the encoded size in bytes
+   */
+  public long getEncodedSize() {
+    long size = 0;
+    for (Block block : mBlocks) {
+      size += block.mData.length;
+    }
+    return size;
+  }
+
+  /**
+   * Returns the index of the first value in the open tail block.
+   *
+   * @return the tail start index
+   */
+  private int tailStart() {
+    return mSize - mTailSize;
+  }
+
+  @Override
+  public double getXByIndex(int index) {
+    checkIndex(index);
+    int tailStart = tailStart();
+    if (index >= tailStart) {
+      return mTailX[index - tailStart];
+    }
+    Block block = decode(blockOf(index));
+    return mCacheX[index - start(block)];
+  }
+
+  @Override
+  public double getYByIndex(int index) {
+    checkIndex(index);
+    int tailStart = tailStart();
+    if (index >= tailStart) {
+      return mTailY[index - tailStart];
+    }
+    Block block = decode(blockOf(index));
+    return mCacheY[index - start(block)];
+  }
+
+  @Override
+  public void put(int index, double x, double y) {
+    checkWritable();
+    if (index < 0 || index > mSize) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+    if (mTailSize == mBlockSize) {
+      seal();
+    }
+    int tailStart = tailStart();
+    if (index >= tailStart) {
+      int offset = index - tailStart;
+      System.arraycopy(mTailX, offset, mTailX, offset + 1, mTailSize - offset);
+      System.arraycopy(mTailY, offset, mTailY, offset + 1, mTailSize - offset);
+      mTailX[offset] = x;
+      mTailY[offset] = y;
+      mTailSize++;
+    } else {
+      // the values are inserted in an encoded block, encoded again
+      int position = blockOf(index);
+      Block block = decode(position);
+      // the removed head values of the first block are dropped along
+      int skip = position == 0 ? mHeadSkip : 0;
+      int start = start(block) + skip;
+      int count = block.mCount - skip;
+      double[] blockX = new double[count + 1];
+      double[] blockY = new double[count + 1];
+      int offset = index - start;
+      System.arraycopy(mCacheX, skip, blockX, 0, offset);
+      System.arraycopy(mCacheY, skip, blockY, 0, offset);
+      blockX[offset] = x;
+      blockY[offset] = y;
+      System.arraycopy(mCacheX, skip + offset, blockX, offset + 1, count - offset);
+      System.arraycopy(mCacheY, skip + offset, blockY, offset + 1, count - offset);
+      mCachedBlock = -1;
+      if (skip > 0) {
+        mHeadSkip = 0;
+      }
+      if (count + 1 > 2 * mBlockSize) {
+        int half = (count + 1) / 2;
+        mBlocks.set(position, encode(start, blockX, blockY, 0, half));
+        mBlocks.add(position + 1, encode(start + half, blockX, blockY, half, count + 1 - half));
+        position++;
+      } else {
+        mBlocks.set(position, encode(start, blockX, blockY, 0, count + 1));
+      }
+      shiftStarts(position + 1, 1);
+    }
+    mSize++;
+  }
+
+  @Override
+  public void removeByIndex(int index) {
+    checkIndex(index);
+    removeRange(index, index + 1);
+  }
+
+  /**
+   * Removes the values in the given index range. The blocks fully inside the
+   * range are dropped without being decoded, only the blocks at its edges are
+   * encoded again. Removing the first values does not update the remaining
+   * blocks, the start offset is increased instead, and the first kept block
+   * is not encoded again, its removed head values are skipped until the whole
+   * block is dropped.
+   *
+   * @param fromIndex the start index, inclusive
+   * @param toIndex the end index, exclusive
+   */
+  @Override
+  public void removeRange(int fromIndex, int toIndex) {
+    checkWritable();
+    checkRange(fromIndex, toIndex);
+    int tailStart = tailStart();
+    if (toIndex > tailStart) {
+      int from = Math.max(fromIndex, tailStart) - tailStart;
+      int to = toIndex - tailStart;
+      System.arraycopy(mTailX, to, mTailX, from, mTailSize - to);
+      System.arraycopy(mTailY, to, mTailY, from, mTailSize - to);
+      mTailSize -= to - from;
+    }
+    int blocksTo = Math.min(toIndex, tailStart);
+    if (fromIndex < blocksTo) {
+      int first = blockOf(fromIndex);
+      int last = blockOf(blocksTo - 1);
+      int removed = blocksTo - fromIndex;
+      int firstStart = start(mBlocks.get(first));
+      int lastStart = start(mBlocks.get(last));
+      int end = lastStart + mBlocks.get(last).mCount;
+      List<Block> kept = new ArrayList<Block>(2);
+      if (fromIndex == 0) {
+        mStartOffset += removed;
+        int dropped = last;
+        if (blocksTo < end) {
+          mHeadSkip = blocksTo - lastStart;
+        } else {
+          mHeadSkip = 0;
+          dropped++;
+        }
+        mBlocks.subList(0, dropped).clear();
+        mCachedBlock = mCachedBlock >= dropped ? mCachedBlock - dropped : -1;
+      } else {
+        int skip = first == 0 ? mHeadSkip : 0;
+        if (fromIndex > firstStart + skip) {
+          decode(first);
+          kept.add(encode(firstStart + skip, mCacheX, mCacheY, skip, fromIndex - firstStart
+              - skip));
+        }
+        if (blocksTo < end) {
+          decode(last);
+          kept.add(encode(fromIndex, mCacheX, mCacheY, blocksTo - lastStart, end - blocksTo));
+        }
+        if (first == 0) {
+          mHeadSkip = 0;
+        }
+        mCachedBlock = -1;
+        mBlocks.subList(first, last + 1).clear();
+        mBlocks.addAll(first, kept);
+      }
+      if (mBlocks.isEmpty()) {
+        mStartOffset = 0;
+        mHeadSkip = 0;
+      } else if (fromIndex > 0) {
+        shiftStarts(first + kept.size(), -removed);
+      } else if (mStartOffset > Integer.MAX_VALUE / 2) {
+        // the stored starts grow with the appended values, they are rebased
+        // before overflowing
+        shiftStarts(0, -mStartOffset);
+        mStartOffset = 0;
+      }
+    }
+    mSize -= toIndex - fromIndex;
+  }
+
+  @Override
+  public void clear() {
+    checkWritable();
+    mBlocks.clear();
+    mTailSize = 0;
+    mSize = 0;
+    mStartOffset = 0;
+    mHeadSkip = 0;
+    mCachedBlock = -1;
+  }
+
+  /**
+   * Returns the index of the first value of a block, negative for the first
+   * block when its head values were removed.
+   *
+   * @param block the block
+   * @return the index of the first value
+   */
+  private int start(Block block) {
+    return block.mStart - mStartOffset;
+  }
+
+  /**
+   * Encodes the open tail block.
+   */
+  private void seal() {
+    mBlocks.add(encode(tailStart(), mTailX, mTailY, 0, mTailSize));
+    mTailSize = 0;
+  }
+
+  /**
+   * Moves the start indexes of the blocks from the given position.
+   *
+   * @param position the position of the first moved block
+   * @param delta the number of indexes to move by
+   */
+  private void shiftStarts(int position, int delta) {
+    int length = mBlocks.size();
+    for (int i = position; i < length; i++) {
+      // the blocks may be shared with snapshots, they are replaced
+      Block block = mBlocks.get(i).copy();
+      block.mStart += delta;
+      mBlocks.set(i, block);
+    }
+  }
+
+  /**
+   * Returns a read only snapshot of the values. The encoded blocks are
+   * shared, only the open tail block is copied.
+   *
+   * @param rangeIndex not used, the blocks headers are always available
+   * @return the snapshot
+   */
+  @Override
+  public AbstractXYArray snapshot(boolean rangeIndex) {
+    if (mReadOnly) {
+      return this;
+    }
+    return new CompressedXYArray(this);
+  }
+
+  /**
+   * Returns the position in the blocks list of the encoded block holding the
+   * given index.
+   *
+   * @param index the index, lower than the tail start
+   * @return the block position
+   */
+  private int blockOf(int index) {
+    if (mCachedBlock >= 0) {
+      Block cached = mBlocks.get(mCachedBlock);
+      if (index >= start(cached) && index < start(cached) + cached.mCount) {
+        return mCachedBlock;
+      }
+    }
+    int low = 0;
+    int high = mBlocks.size() - 1;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (start(mBlocks.get(mid)) <= index) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Decodes the block at the given position in the cache.
+   *
+   * @param position the block position
+   * @return the block
+   */
+  private Block decode(int position) {
+    Block block = mBlocks.get(position);
+    if (position == mCachedBlock) {
+      return block;
+    }
+    int count = block.mCount;
+    if (mCacheX == null || mCacheX.length < count) {
+      int length = Math.max(count, 2 * mBlockSize + 1);
+      mCacheX = new double[length];
+      mCacheY = new double[length];
+    }
+    BitReader reader = new BitReader(block.mData);
+    boolean integral = reader.read(1) == 1;
+    long xBits = reader.read(64);
+    long yBits = reader.read(64);
+    mCacheX[0] = integral ? xBits : Double.longBitsToDouble(xBits);
+    mCacheY[0] = Double.longBitsToDouble(yBits);
+    XorState xState = new XorState(xBits);
+    XorState yState = new XorState(yBits);
+    long previous = xBits;
+    long delta = 0;
+    for (int i = 1; i < count; i++) {
+      if (integral) {
+        delta += readDeltaOfDelta(reader);
+        previous += delta;
+        mCacheX[i] = previous;
+      } else {
+        mCacheX[i] = Double.longBitsToDouble(xState.read(reader));
+      }
+      mCacheY[i] = Double.longBitsToDouble(yState.read(reader));
+    }
+    mCachedBlock = position;
+    return block;
+  }
+
+  /**
+   * Encodes the provided values in a new block.
+   *
+   * @param start the index of the first value
+   * @param x the X values
+   * @param y the Y values
+   * @param offset the offset of the first value in the provided arrays
+   * @param count the number of values
+   * @return the block
+   */
+  private Block encode(int start, double[] x, double[] y, int offset, int count) {
+    Block block = new Block();
+    block.mStart = start + mStartOffset;
+    block.mCount = count;
+    block.mLastX = x[offset + count - 1];
+    boolean integral = true;
+    for (int i = offset; i < offset + count && integral; i++) {
+      integral = isIntegral(x[i]);
+    }
+    BitWriter writer = new BitWriter();
+    writer.write(integral ? 1 : 0, 1);
+    long xBits = integral ? (long) x[offset] : Double.doubleToRawLongBits(x[offset]);
+    long yBits = Double.doubleToRawLongBits(y[offset]);
+    writer.write(xBits, 64);
+    writer.write(yBits, 64);
+    XorState xState = new XorState(xBits);
+    XorState yState = new XorState(yBits);
+    long previous = xBits;
+    long previousDelta = 0;
+    for (int i = offset + 1; i < offset + count; i++) {
+      if (integral) {
+        long value = (long) x[i];
+        long delta = value - previous;
+        writeDeltaOfDelta(writer, delta - previousDelta);
+        previous = value;
+        previousDelta = delta;
+      } else {
+        xState.write(writer, Double.doubleToRawLongBits(x[i]));
+      }
+      yState.write(writer, Double.doubleToRawLongBits(y[i]));
+    }
+    block.mData = writer.toByteArray();
+    block.mMinY = -1;
+    block.mMaxY = -1;
+    for (int i = 0; i < count; i++) {
+      double value = y[offset + i];
+      if (isValue(value)) {
+        if (block.mMinY < 0 || value < block.mMinYValue) {
+          block.mMinY = i;
+          block.mMinYValue = value;
+        }
+        if (block.mMaxY < 0 || value > block.mMaxYValue) {
+          block.mMaxY = i;
+          block.mMaxYValue = value;
+        }
+      }
+    }
+    return block;
+  }
+
+  private static boolean isIntegral(double x) {
+    return x == Math.rint(x) && Math.abs(x) < MAX_INTEGRAL
+        && Double.doubleToRawLongBits(x) != Long.MIN_VALUE;
+  }
+
+  private static void writeDeltaOfDelta(BitWriter writer, long value) {
+    if (value == 0) {
+      writer.write(0, 1);
+    } else if (value >= -63 && value <= 64) {
+      writer.write(2, 2);
+      writer.write(value + 63, 7);
+    } else if (value >= -255 && value <= 256) {
+      writer.write(6, 3);
+      writer.write(value + 255, 9);
+    } else if (value >= -2047 && value <= 2048) {
+      writer.write(14, 4);
+      writer.write(value + 2047, 12);
+    } else {
+      writer.write(15, 4);
+      writer.write(value, 64);
+    }
+  }
+
+  private static long readDeltaOfDelta(BitReader reader) {
+    if (reader.read(1) == 0) {
+      return 0;
+    }
+    if (reader.read(1) == 0) {
+      return reader.read(7) - 63;
+    }
+    if (reader.read(1) == 0) {
+      return reader.read(9) - 255;
+    }
+    if (reader.read(1) == 0) {
+      return reader.read(12) - 2047;
+    }
+    return reader.read(64);
+  }
+
+  @Override
+  public int getIndexForKey(double key) {
+    int index = getCeilingIndex(key);
+    if (index < mSize && getXByIndex(index) == key) {
+      return index;
+    }
+    return -(index + 1);
+  }
+
+  @Override
+  public int getCeilingIndex(double x) {
+    return search(x, false);
+  }
+
+  @Override
+  public int getHigherIndex(double x) {
+    return search(x, true);
+  }
+
+  /**
+   * Returns the index of the first value having the X greater than, or equal
+   * to unless strictly required, the provided one. Only the block holding the
+   * result is decoded.
+   *
+   * @param x the X value
+   * @param higher if the X must be strictly greater
+   * @return the index, or the values count if there is no such value
+   */
+  private int search(double x, boolean higher) {
+    int low = 0;
+    int high = mBlocks.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      double last = mBlocks.get(mid).mLastX;
+      if (higher ? last <= x : last < x) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    double[] values;
+    int start;
+    int from = 0;
+    int end;
+    if (low < mBlocks.size()) {
+      Block block = decode(low);
+      values = mCacheX;
+      start = start(block);
+      if (low == 0) {
+        from = mHeadSkip;
+      }
+      end = block.mCount;
+    } else {
+      values = mTailX;
+      start = tailStart();
+      end = mTailSize;
+    }
+    while (from < end) {
+      int mid = (from + end) >>> 1;
+      if (higher ? values[mid] <= x : values[mid] < x) {
+        from = mid + 1;
+      } else {
+        end = mid;
+      }
+    }
+    return start + from;
+  }
+
+  @Override
+  public int getMinYIndex(int fromIndex, int toIndex) {
+    return getExtremeYIndex(fromIndex, toIndex, false);
+  }
+
+  @Override
+  public int getMaxYIndex(int fromIndex, int toIndex) {
+    return getExtremeYIndex(fromIndex, toIndex, true);
+  }
+
+  /**
+   * Returns the index of the extreme Y value in the given index range. The
+   * blocks fully inside the range are not decoded, their header is used.
+   *
+   * @param fromIndex the start index, inclusive
+   * @param toIndex the end index, exclusive
+   * @param max if the maximum is searched, otherwise the minimum
+   * @return the index of the extreme Y value, or -1 if there is none
+   */
+  private int getExtremeYIndex(int fromIndex, int toIndex, boolean max) {
+    fromIndex = Math.max(0, fromIndex);
+    toIndex = Math.min(mSize, toIndex);
+    int result = -1;
+    double extreme = 0;
+    int tailStart = tailStart();
+    int position = fromIndex < tailStart ? blockOf(fromIndex) : mBlocks.size();
+    int index = fromIndex;
+    while (index < toIndex && position < mBlocks.size()) {
+      Block block = mBlocks.get(position);
+      int end = start(block) + block.mCount;
+      int candidate;
+      double value;
+      if (index == start(block) && end <= toIndex) {
+        candidate = max ? block.mMaxY : block.mMinY;
+        value = max ? block.mMaxYValue : block.mMinYValue;
+        if (candidate >= 0) {
+          candidate += start(block);
+        }
+      } else {
+        decode(position);
+        candidate = -1;
+        value = 0;
+        int last = Math.min(end, toIndex);
+        for (int i = index; i < last; i++) {
+          double y = mCacheY[i - start(block)];
+          if (isValue(y) && (candidate < 0 || (max ? y > value : y < value))) {
+            candidate = i;
+            value = y;
+          }
+        }
+      }
+      if (candidate >= 0 && (result < 0 || (max ? value > extreme : value < extreme))) {
+        result = candidate;
+        extreme = value;
+      }
+      index = end;
+      position++;
+    }
+    for (int i = Math.max(index, tailStart); i < toIndex; i++) {
+      double y = mTailY[i - tailStart];
+      if (isValue(y) && (result < 0 || (max ? y > extreme : y < extreme))) {
+        result = i;
+        extreme = y;
+      }
+    }
+    return result;
+  }
+
+  private void checkWritable() {
+    if (mReadOnly) {
+      throw new UnsupportedOperationException("The snapshot values are read only");
+    }
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= mSize) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+  }
+
+  /**
+   * An encoded block of values.
+   */
+  private static class Block implements Serializable {
+    /** The index of the first value, plus the start offset of the array. */
+    private int mStart;
+    /** The number of values. */
+    private int mCount;
+    /** The X value of the last value, for the lookups. */
+    private double mLastX;
+    /** The offset of the minimum Y value, -1 if none. */
+    private int mMinY;
+    /** The offset of the maximum Y value, -1 if none. */
+    private int mMaxY;
+    /** The minimum Y value. */
+    private double mMinYValue;
+    /** The maximum Y value. */
+    private double mMaxYValue;
+    /** The encoded values. */
+    private byte[] mData;
+
+    public Block copy() {
+      Block block = new Block();
+      block.mStart = mStart;
+      block.mCount = mCount;
+      block.mLastX = mLastX;
+      block.mMinY = mMinY;
+      block.mMaxY = mMaxY;
+      block.mMinYValue = mMinYValue;
+      block.mMaxYValue = mMaxYValue;
+      block.mData = mData;
+      return block;
+    }
+  }
+
+  /**
+   * The state of a XOR encoded values stream: the previous value and the
+   * meaningful bits window of the previous XOR.
+   */
+  private static class XorState {
+    /** The previous value bits. */
+    private long mPrevious;
+    /** The leading zeros of the window, -1 if none yet. */
+    private int mLeading = -1;
+    /** The trailing zeros of the window. */
+    private int mTrailing;
+
+    public XorState(long first) {
+      mPrevious = first;
+    }
+
+    public void write(BitWriter writer, long value) {
+      long xor = value ^ mPrevious;
+      mPrevious = value;
+      if (xor == 0) {
+        writer.write(0, 1);
+        return;
+      }
+      int leading = Math.min(31, Long.numberOfLeadingZeros(xor));
+      int trailing = Long.numberOfTrailingZeros(xor);
+      if (mLeading >= 0 && leading >= mLeading && trailing >= mTrailing) {
+        // the meaningful bits fit in the previous window
+        writer.write(2, 2);
+        writer.write(xor >>> mTrailing, 64 - mLeading - mTrailing);
+      } else {
+        int meaningful = 64 - leading - trailing;
+        writer.write(3, 2);
+        writer.write(leading, 5);
+        writer.write(meaningful - 1, 6);
+        writer.write(xor >>> trailing, meaningful);
+        mLeading = leading;
+        mTrailing = trailing;
+      }
+    }
+
+    public long read(BitReader reader) {
+      if (reader.read(1) == 1) {
+        if (reader.read(1) == 1) {
+          mLeading = (int) reader.read(5);
+          int meaningful = (int) reader.read(6) + 1;
+          mTrailing = 64 - mLeading - meaningful;
+        }
+        mPrevious ^= reader.read(64 - mLeading - mTrailing) << mTrailing;
+      }
+      return mPrevious;
+    }
+  }
+
+  /**
+   * Writes bits to a growable bytes array.
+   */
+  private static class BitWriter {
+    /** The written bytes. */
+    private byte[] mBytes = new byte[64];
+    /** The number of written bits. */
+    private int mBits;
+
+    /**
+     * Writes the given number of low order bits of the value.
+     *
+     * @param value the value
+     * @param bits the number of bits, up to 64
+     */
+    public void write(long value, int bits) {
+      for (int i = bits - 1; i >= 0; i--) {
+        int position = mBits >> 3;
+        if (position == mBytes.length) {
+          byte[] bytes = new byte[mBytes.length * 2];
+          System.arraycopy(mBytes, 0, bytes, 0, mBytes.length);
+          mBytes = bytes;
+        }
+        if (((value >>> i) & 1) != 0) {
+          mBytes[position] |= 0x80 >>> (mBits & 7);
+        }
+        mBits++;
+      }
+    }
+
+    public byte[] toByteArray() {
+      byte[] bytes = new byte[(mBits + 7) >> 3];
+      System.arraycopy(mBytes, 0, bytes, 0, bytes.length);
+      return bytes;
+    }
+  }
+
+  /**
+   * Reads bits from a bytes array.
+   */
+  private static class BitReader {
+    /** The read bytes. */
+    private final byte[] mBytes;
+    /** The number of read bits. */
+    private int mBits;
+
+    public BitReader(byte[] bytes) {
+      mBytes = bytes;
+    }
+
+    /**
+     * Reads the given number of bits.
+     *
+     * @param bits the number of bits, up to 64
+     * @return the value
+     */
+    public long read(int bits) {
+      long value = 0;
+      for (int i = 0; i < bits; i++) {
+        value = (value << 1) | ((mBytes[mBits >> 3] >>> (7 - (mBits & 7))) & 1);
+        mBits++;
+      }
+      return value;
+    }
+  }
+}
@@ -0,0 +1,363 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An append only storage of XY values for a single writer thread and any
+ * number of reader threads, without locks. The values are written to
+ * primitive arrays beyond the published size, then published by a volatile
+ * write of the size. The arrays are never overwritten: growing or clearing
+ * the storage publishes new arrays, such as a reader always sees a
+ * consistent prefix of the values.
+ */
+public class ConcurrentXYArray extends AbstractXYArray {
+  /** The default initial capacity. */
+  private static final int DEFAULT_CAPACITY = 16;
+  /** The published values. */
+  private transient volatile State mState;
+  /** If a reader runs range queries, such as the writer maintains an index. */
+  private transient volatile boolean mRangeIndex;
+
+  /**
+   * Builds a new empty concurrent XY array.
+   */
+  public ConcurrentXYArray() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Builds a new empty concurrent XY array.
+   *
+   * @param capacity the initial capacity
+   */
+  public ConcurrentXYArray(int capacity) {
+    mState = new State(Math.max(1, capacity));
+  }
+
+  @Override
+  public int size() {
+    return mState.mSize;
+  }
+
+  @Override
+  public double getXByIndex(int index) {
+    State state = mState;
+    checkIndex(state, index);
+    return state.mX[index];
+  }
+
+  @Override
+  public double getYByIndex(int index) {
+    State state = mState;
+    checkIndex(state, index);
+    return state.mY[index];
+  }
+
+  /**
+   * Returns the minimum Y value, not taking into account null values.
+   *
+   * @return the minimum Y value
+   */
+  public double getMinY() {
+    return mState.mMinY;
+  }
+
+  /**
+   * Returns the maximum Y value, not taking into account null values.
+   *
+   * @return the maximum Y value
+   */
+  public double getMaxY() {
+    return mState.mMaxY;
+  }
+
+  /**
+   * Makes sure the arrays can hold the provided number of values without
+   * being reallocated. To be called by the writer thread only.
+   *
+   * @param capacity the minimum capacity
+   */
+  @Override
+  public void ensureCapacity(int capacity) {
+    State state = mState;
+    if (capacity > state.mX.length) {
+      int length = Math.max(capacity, state.mX.length + (state.mX.length >> 1) + 1);
+      State grown = new State(length);
+      int size = state.mSize;
+      System.arraycopy(state.mX, 0, grown.mX, 0, size);
+      System.arraycopy(state.mY, 0, grown.mY, 0, size);
+      grown.mMinY = state.mMinY;
+      grown.mMaxY = state.mMaxY;
+      grown.mSize = size;
+      mState = grown;
+    }
+  }
+
+  /**
+   * Appends a new value. To be called by the writer thread only.
+   *
+   * @param index the index, which must be the values count
+   * @param x the X value, greater than the stored ones
+   * @param y the Y value
+   */
+  @Override
+  public void put(int index, double x, double y) {
+    int size = mState.mSize;
+    if (index != size) {
+      throw new UnsupportedOperationException("The values can only be appended");
+    }
+    checkOrder(x);
+    ensureCapacity(size + 1);
+    State state = mState;
+    state.mX[size] = x;
+    state.mY[size] = y;
+    updateRange(state, y);
+    publish(state, size + 1);
+  }
+
+  /**
+   * Appends the provided values. To be called by the writer thread only.
+   *
+   * @param x the X values, increasing and greater than the stored ones
+   * @param y the Y values
+   * @param offset the offset of the first value in the provided arrays
+   * @param length the number of values to append
+   */
+  @Override
+  public void putAll(double[] x, double[] y, int offset, int length) {
+    if (length == 0) {
+      return;
+    }
+    checkOrder(x[offset]);
+    for (int i = offset + 1; i < offset + length; i++) {
+      if (x[i] <= x[i - 1]) {
+        throw new IllegalArgumentException("The X values must be increasing");
+      }
+    }
+    int size = mState.mSize;
+    ensureCapacity(size + length);
+    State state = mState;
+    System.arraycopy(x, offset, state.mX, size, length);
+    System.arraycopy(y, offset, state.mY, size, length);
+    for (int i = offset; i < offset + length; i++) {
+      updateRange(state, y[i]);
+    }
+    publish(state, size + length);
+  }
+
+  private void checkOrder(double x) {
+    State state = mState;
+    if (state.mSize > 0 && x <= state.mX[state.mSize - 1]) {
+      throw new IllegalArgumentException("The values must be added in increasing X order");
+    }
+  }
+
+  private void updateRange(State state, double y) {
+    if (isValue(y)) {
+      state.mMinY = Math.min(state.mMinY, y);
+      state.mMaxY = Math.max(state.mMaxY, y);
+    }
+  }
+
+  /**
+   * Updates the Y values index, if any, and publishes the new size.
+   *
+   * @param state the current state
+   * @param size the new size
+   */
+  private void publish(State state, int size) {
+    RangeIndex index = state.mYIndex.get();
+    if (index == null && mRangeIndex) {
+      // the values up to the new size are all written, if a reader shared an
+      // index meanwhile it is updated instead
+      state.mYIndex.compareAndSet(null, new RangeIndex(state.mY, size));
+      index = state.mYIndex.get();
+    }
+    if (index != null) {
+      // the readers only query the index for the published values, which are
+      // never updated
+      for (int position = index.mSize; position < size; position++) {
+        index.mIndex.update(position);
+      }
+      index.mSize = size;
+    }
+    state.mSize = size;
+  }
+
+  /**
+   * Removes all the values. To be called by the writer thread only.
+   */
+  @Override
+  public void clear() {
+    mState = new State(mState.mX.length);
+  }
+
+  /**
+   * Returns a read only snapshot of the published values, in constant time.
+   *
+   * @param rangeIndex if range queries will be run on the snapshot, such as
+   *          the writer starts maintaining an index of the Y values
+   * @return the snapshot
+   */
+  @Override
+  public AbstractXYArray snapshot(boolean rangeIndex) {
+    State state = mState;
+    int size = state.mSize;
+    MinMaxIndex index = null;
+    if (rangeIndex) {
+      mRangeIndex = true;
+      index = getYIndex(state, size);
+    }
+    return new IndexXYArray(state.mX, state.mY, 0, size, index);
+  }
+
+  /**
+   * Returns an index of the Y values up to date with the given number of
+   * published values. When the writer did not publish values since the index
+   * was requested, it is built by the reader and shared with the writer and
+   * the next snapshots.
+   *
+   * @param state the state
+   * @param size the number of published values
+   * @return the Y values index
+   */
+  private MinMaxIndex getYIndex(State state, int size) {
+    RangeIndex index = state.mYIndex.get();
+    if (index != null && index.mSize >= size) {
+      return index.mIndex;
+    }
+    RangeIndex built = new RangeIndex(state.mY, size);
+    if (!state.mYIndex.compareAndSet(index, built)) {
+      index = state.mYIndex.get();
+      if (index != null && index.mSize >= size) {
+        return index.mIndex;
+      }
+    }
+    return built.mIndex;
+  }
+
+  @Override
+  public int getIndexForKey(double key) {
+    return snapshot(false).getIndexForKey(key);
+  }
+
+  @Override
+  public int getCeilingIndex(double x) {
+    return snapshot(false).getCeilingIndex(x);
+  }
+
+  @Override
+  public int getHigherIndex(double x) {
+    return snapshot(false).getHigherIndex(x);
+  }
+
+  @Override
+  public int getMinYIndex(int fromIndex, int toIndex) {
+    return snapshot(true).getMinYIndex(fromIndex, toIndex);
+  }
+
+  @Override
+  public int getMaxYIndex(int fromIndex, int toIndex) {
+    return snapshot(true).getMaxYIndex(fromIndex, toIndex);
+  }
+
+  @Override
+  public int[] getLevelOfDetail(int fromIndex, int toIndex, int buckets) {
+    return snapshot(true).getLevelOfDetail(fromIndex, toIndex, buckets);
+  }
+
+  @Override
+  public SortedMap<Double, Double> subMap(int fromIndex, int toIndex) {
+    return snapshot(false).subMap(fromIndex, toIndex);
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    State state = mState;
+    int size = state.mSize;
+    out.writeInt(size);
+    SerializationHelper.writeDoubles(out, state.mX, 0, size);
+    SerializationHelper.writeDoubles(out, state.mY, 0, size);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    int size = in.readInt();
+    if (size < 0) {
+      throw new IOException("Invalid values count: " + size);
+    }
+    State state = new State(Math.max(1, size));
+    SerializationHelper.readDoubles(in, state.mX, 0, size);
+    SerializationHelper.readDoubles(in, state.mY, 0, size);
+    for (int i = 0; i < size; i++) {
+      updateRange(state, state.mY[i]);
+    }
+    state.mSize = size;
+    mState = state;
+  }
+
+  private void checkIndex(State state, int index) {
+    if (index < 0 || index >= state.mSize) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + state.mSize);
+    }
+  }
+
+  /**
+   * The arrays of values and their published size.
+   */
+  private static class State implements Serializable {
+    /** The X values. */
+    private final double[] mX;
+    /** The Y values. */
+    private final double[] mY;
+    /** The number of published values. */
+    private volatile int mSize;
+    /** The minimum Y value. */
+    private volatile double mMinY = MathHelper.NULL_VALUE;
+    /** The maximum Y value. */
+    private volatile double mMaxY = -MathHelper.NULL_VALUE;
+    /** The index of the Y values extremes, shared by the writer and the readers. */
+    private final AtomicReference<RangeIndex> mYIndex = new AtomicReference<RangeIndex>();
+
+    public State(int capacity) {
+      mX = new double[capacity];
+      mY = new double[capacity];
+    }
+  }
+
+  /**
+   * An index of the Y values extremes and the number of values it is up to
+   * date with. Once shared, it is only updated by the writer.
+   */
+  private static class RangeIndex {
+    /** The index. */
+    private final MinMaxIndex mIndex;
+    /** The number of values the index is up to date with. */
+    private volatile int mSize;
+
+    public RangeIndex(double[] values, int size) {
+      mIndex = new MinMaxIndex(values);
+      mSize = size;
+    }
+  }
+}
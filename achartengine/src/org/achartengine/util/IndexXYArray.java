@@ -0,0 +1,617 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * An index addressable storage of XY values, kept in two growable primitive
+ * arrays sorted by the X values. Lookups by X use a binary search on the X
+ * array. The arrays are used as a circular buffer, such as removing the first
+ * value does not need to shift the remaining ones.
+ */
+public class IndexXYArray extends AbstractXYArray {
+  /** The default initial capacity. */
+  private static final int DEFAULT_CAPACITY = 16;
+  /** The X values. */
+  private transient double[] mX;
+  /** The Y values. */
+  private transient double[] mY;
+  /** The position in the arrays of the first value. */
+  private transient int mHead;
+  /** The number of stored values. */
+  private transient int mSize;
+  /** The index of the Y values extremes, built on the first range query. */
+  private transient MinMaxIndex mYIndex;
+  /** If this array is a snapshot, which cannot be modified. */
+  private final boolean mReadOnly;
+  /** The X array shared with the snapshots, if any. */
+  private transient double[] mShared;
+  /** The position of the first array slot no snapshot can read. */
+  private transient int mSafeStart;
+  /** The number of consecutive array slots no snapshot can read. */
+  private transient int mSafeLength;
+
+  /**
+   * Builds a new empty XY array.
+   */
+  public IndexXYArray() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Builds a new empty XY array.
+   *
+   * @param capacity the initial capacity
+   */
+  public IndexXYArray(int capacity) {
+    capacity = Math.max(1, capacity);
+    mX = new double[capacity];
+    mY = new double[capacity];
+    mReadOnly = false;
+  }
+
+  /**
+   * Builds a read only XY array over the provided arrays.
+   *
+   * @param x the X values
+   * @param y the Y values
+   * @param head the position in the arrays of the first value
+   * @param size the number of values
+   * @param yIndex the index of the Y values extremes, or null
+   */
+  IndexXYArray(double[] x, double[] y, int head, int size, MinMaxIndex yIndex) {
+    mX = x;
+    mY = y;
+    mHead = head;
+    mSize = size;
+    mYIndex = yIndex;
+    mReadOnly = true;
+  }
+
+  /**
+   * Returns the number of stored values.
+   *
+   * @return the values count
+   */
+  public int size() {
+    return mSize;
+  }
+
+  /**
+   * Returns the number of values the arrays can hold without being
+   * reallocated.
+   *
+   * @return the capacity
+   */
+  public int capacity() {
+    return mX.length;
+  }
+
+  /**
+   * Makes sure the arrays can hold the provided number of values without
+   * being reallocated.
+   *
+   * @param capacity the minimum capacity
+   */
+  public void ensureCapacity(int capacity) {
+    checkWritable();
+    if (capacity > mX.length) {
+      resize(Math.max(capacity, mX.length + (mX.length >> 1) + 1));
+    }
+  }
+
+  /**
+   * Moves the values to new arrays of the given length, starting at position
+   * 0.
+   *
+   * @param length the new arrays length
+   */
+  private void resize(int length) {
+    double[] x = new double[length];
+    double[] y = new double[length];
+    copyTo(mX, x);
+    copyTo(mY, y);
+    mX = x;
+    mY = y;
+    mHead = 0;
+    mYIndex = null;
+  }
+
+  /**
+   * Copies the stored values of a column to the start of the target array.
+   *
+   * @param source the source column
+   * @param target the target array
+   */
+  private void copyTo(double[] source, double[] target) {
+    int first = Math.min(mSize, source.length - mHead);
+    System.arraycopy(source, mHead, target, 0, first);
+    System.arraycopy(source, 0, target, first, mSize - first);
+  }
+
+  /**
+   * Makes the stored values contiguous, starting at position 0.
+   */
+  private void linearize() {
+    if (mHead + mSize > mX.length) {
+      resize(mX.length);
+    } else if (mHead > 0) {
+      System.arraycopy(mX, mHead, mX, 0, mSize);
+      System.arraycopy(mY, mHead, mY, 0, mSize);
+      mHead = 0;
+      mYIndex = null;
+    }
+  }
+
+  /**
+   * Returns the position in the arrays of the value at the given index.
+   *
+   * @param index the index
+   * @return the position in the arrays
+   */
+  private int position(int index) {
+    int position = mHead + index;
+    if (position >= mX.length) {
+      position -= mX.length;
+    }
+    return position;
+  }
+
+  /**
+   * Adds a new value at the specified index. The caller must make sure the X
+   * values remain sorted.
+   *
+   * @param index the index
+   * @param x the X value
+   * @param y the Y value
+   */
+  public void put(int index, double x, double y) {
+    if (index < 0 || index > mSize) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+    ensureCapacity(mSize + 1);
+    boolean prepend = index == 0 && mSize > 0;
+    if (prepend || index == mSize) {
+      claim(prepend ? position(mX.length - 1) : position(index), 1);
+    }
+    if (prepend) {
+      mHead = position(mX.length - 1);
+    } else if (index < mSize) {
+      unshare();
+      linearize();
+      System.arraycopy(mX, index, mX, index + 1, mSize - index);
+      System.arraycopy(mY, index, mY, index + 1, mSize - index);
+      mYIndex = null;
+    }
+    int position = position(index);
+    mX[position] = x;
+    mY[position] = y;
+    mSize++;
+    if (mYIndex != null) {
+      mYIndex.update(position);
+    }
+  }
+
+  /**
+   * Appends the given values after the stored ones. The caller must make sure
+   * the X values remain sorted.
+   *
+   * @param x the X values
+   * @param y the Y values
+   * @param offset the offset of the first value in the provided arrays
+   * @param length the number of values to append
+   */
+  public void putAll(double[] x, double[] y, int offset, int length) {
+    ensureCapacity(mSize + length);
+    claim(position(mSize), length);
+    int position = position(mSize);
+    int first = Math.min(length, mX.length - position);
+    System.arraycopy(x, offset, mX, position, first);
+    System.arraycopy(y, offset, mY, position, first);
+    System.arraycopy(x, offset + first, mX, 0, length - first);
+    System.arraycopy(y, offset + first, mY, 0, length - first);
+    mSize += length;
+    if (mYIndex != null) {
+      if (length > mSize >> 4) {
+        // cheaper to build the index again on the next query
+        mYIndex = null;
+      } else {
+        for (int i = mSize - length; i < mSize; i++) {
+          mYIndex.update(position(i));
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the X value at the given index.
+   *
+   * @param index the index
+   * @return the X value
+   */
+  public double getXByIndex(int index) {
+    checkIndex(index);
+    return mX[position(index)];
+  }
+
+  /**
+   * Returns the Y value at the given index.
+   *
+   * @param index the index
+   * @return the Y value
+   */
+  public double getYByIndex(int index) {
+    checkIndex(index);
+    return mY[position(index)];
+  }
+
+  /**
+   * Removes the value at the given index.
+   *
+   * @param index the index
+   */
+  public void removeByIndex(int index) {
+    checkWritable();
+    checkIndex(index);
+    if (index == 0) {
+      mHead = position(1);
+    } else if (index < mSize - 1) {
+      unshare();
+      linearize();
+      System.arraycopy(mX, index + 1, mX, index, mSize - index - 1);
+      System.arraycopy(mY, index + 1, mY, index, mSize - index - 1);
+      mYIndex = null;
+    }
+    mSize--;
+  }
+
+  /**
+   * Removes the values in the given index range. Removing the first values
+   * only moves the head of the circular buffer, in constant time.
+   *
+   * @param fromIndex the start index, inclusive
+   * @param toIndex the end index, exclusive
+   */
+  @Override
+  public void removeRange(int fromIndex, int toIndex) {
+    checkWritable();
+    checkRange(fromIndex, toIndex);
+    int length = toIndex - fromIndex;
+    if (length == 0) {
+      return;
+    }
+    if (fromIndex == 0) {
+      mHead = position(length);
+    } else if (toIndex < mSize) {
+      unshare();
+      linearize();
+      System.arraycopy(mX, toIndex, mX, fromIndex, mSize - toIndex);
+      System.arraycopy(mY, toIndex, mY, fromIndex, mSize - toIndex);
+      mYIndex = null;
+    }
+    mSize -= length;
+  }
+
+  /**
+   * Removes all the values.
+   */
+  public void clear() {
+    checkWritable();
+    mHead = 0;
+    mSize = 0;
+  }
+
+  /**
+   * Searches for the given X value.
+   *
+   * @param key the X value
+   * @return the index of the value, if found, otherwise (-(insertion point) -
+   *         1), the same as {@link java.util.Arrays#binarySearch(double[], double)}
+   */
+  public int getIndexForKey(double key) {
+    int low = 0;
+    int high = mSize - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      double value = mX[position(mid)];
+      if (value < key) {
+        low = mid + 1;
+      } else if (value > key) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  /**
+   * Returns the index of the first value having the X greater than or equal to
+   * the provided one.
+   *
+   * @param x the X value
+   * @return the index, or the values count if there is no such value
+   */
+  public int getCeilingIndex(double x) {
+    int low = 0;
+    int high = mSize;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (mX[position(mid)] < x) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the index of the first value having the X strictly greater than
+   * the provided one.
+   *
+   * @param x the X value
+   * @return the index, or the values count if there is no such value
+   */
+  public int getHigherIndex(double x) {
+    int low = 0;
+    int high = mSize;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (mX[position(mid)] <= x) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the index of the minimum Y value in the given index range. The
+   * first call builds an index of the Y values in linear time, then the
+   * queries take logarithmic time. Null values are ignored.
+   *
+   * @param fromIndex the start index, inclusive
+   * @param toIndex the end index, exclusive
+   * @return the index of the minimum Y value, or -1 if there is none
+   */
+  public int getMinYIndex(int fromIndex, int toIndex) {
+    return getExtremeYIndex(fromIndex, toIndex, false);
+  }
+
+  /**
+   * Returns the index of the maximum Y value in the given index range. The
+   * first call builds an index of the Y values in linear time, then the
+   * queries take logarithmic time. Null values are ignored.
+   *
+   * @param fromIndex the start index, inclusive
+   * @param toIndex the end index, exclusive
+   * @return the index of the maximum Y value, or -1 if there is none
+   */
+  public int getMaxYIndex(int fromIndex, int toIndex) {
+    return getExtremeYIndex(fromIndex, toIndex, true);
+  }
+
+  private int getExtremeYIndex(int fromIndex, int toIndex, boolean max) {
+    fromIndex = Math.max(0, fromIndex);
+    toIndex = Math.min(mSize, toIndex);
+    if (fromIndex >= toIndex) {
+      return -1;
+    }
+    validateYIndex();
+    int from = position(fromIndex);
+    int to = from + toIndex - fromIndex;
+    int result;
+    if (to <= mY.length) {
+      result = max ? mYIndex.getMax(from, to) : mYIndex.getMin(from, to);
+    } else {
+      // the range wraps around the end of the circular buffer
+      int first = max ? mYIndex.getMax(from, mY.length) : mYIndex.getMin(from, mY.length);
+      int second = max ? mYIndex.getMax(0, to - mY.length) : mYIndex.getMin(0, to - mY.length);
+      if (first < 0 || second >= 0 && (max ? mY[second] > mY[first] : mY[second] < mY[first])) {
+        result = second;
+      } else {
+        result = first;
+      }
+    }
+    return toIndex(result);
+  }
+
+  /**
+   * Returns the indexes of the values summarizing the given index range with
+   * about the given number of buckets. The range is split in buckets having a
+   * power of two size, aligned on the nodes of the Y values index, and every
+   * bucket contributes its first, minimum, maximum and last values, in index
+   * order. As the index is updated on appends, the summary of a growing
+   * series is cheap to compute again.
+   *
+   * @param fromIndex the start index, inclusive
+   * @param toIndex the end index, exclusive
+   * @param buckets the wanted number of buckets, usually the width in pixels
+   * @return the ascending indexes of the values to be drawn, or null if the
+   *         range has too few values for the summary to be useful
+   */
+  public int[] getLevelOfDetail(int fromIndex, int toIndex, int buckets) {
+    fromIndex = Math.max(0, fromIndex);
+    toIndex = Math.min(mSize, toIndex);
+    int length = toIndex - fromIndex;
+    int size = 1;
+    while ((long) size * Math.max(1, buckets) < length) {
+      size <<= 1;
+    }
+    if (size <= 4) {
+      // a bucket would not have less points than its summary
+      return null;
+    }
+    validateYIndex();
+    // the range edges and the circular buffer end can split buckets
+    int[] result = new int[4 * (length / size + 3)];
+    int count = 0;
+    int index = fromIndex;
+    while (index < toIndex) {
+      int from = position(index);
+      int to = Math.min(Math.min((from / size + 1) * size, mY.length), from + toIndex - index);
+      int last = index + to - from - 1;
+      int min = toIndex(mYIndex.getMin(from, to));
+      int max = toIndex(mYIndex.getMax(from, to));
+      result[count++] = index;
+      if (min > max) {
+        int swap = min;
+        min = max;
+        max = swap;
+      }
+      if (min > index && min < last) {
+        result[count++] = min;
+      }
+      if (max > index && max < last && max != min) {
+        result[count++] = max;
+      }
+      if (last > index) {
+        result[count++] = last;
+      }
+      index = last + 1;
+    }
+    int[] indexes = new int[count];
+    System.arraycopy(result, 0, indexes, 0, count);
+    return indexes;
+  }
+
+  /**
+   * Builds the Y values index, if missing or out of date.
+   */
+  private void validateYIndex() {
+    if (mYIndex == null || !mYIndex.isIndexing(mY)) {
+      mYIndex = new MinMaxIndex(mY);
+    }
+  }
+
+  /**
+   * Returns the index of the value at the given position in the arrays.
+   *
+   * @param position the position in the arrays, or -1
+   * @return the index, or -1
+   */
+  private int toIndex(int position) {
+    if (position < 0) {
+      return -1;
+    }
+    return position >= mHead ? position - mHead : position + mY.length - mHead;
+  }
+
+  /**
+   * Returns a read only snapshot of the values, in constant time. The
+   * snapshot shares the arrays, which are copied before being overwritten
+   * where the snapshot could read them. Appending values, prepending values
+   * and removing the first value do not usually need a copy.
+   *
+   * @param rangeIndex if the Y values index must be built first, to be shared
+   *          with the snapshot
+   * @return the snapshot
+   */
+  @Override
+  public AbstractXYArray snapshot(boolean rangeIndex) {
+    if (mReadOnly) {
+      return this;
+    }
+    if (mShared != mX) {
+      mShared = mX;
+      mSafeStart = position(mSize);
+      mSafeLength = mX.length - mSize;
+    }
+    if (rangeIndex) {
+      validateYIndex();
+    }
+    return new IndexXYArray(mX, mY, mHead, mSize, mYIndex != null && mYIndex.isIndexing(mY)
+        ? mYIndex : null);
+  }
+
+  /**
+   * Claims array slots before they are written. If a snapshot could read
+   * them, the arrays are copied first.
+   *
+   * @param position the position of the first slot
+   * @param length the number of slots
+   */
+  private void claim(int position, int length) {
+    if (mShared != mX || length == 0) {
+      return;
+    }
+    int offset = position - mSafeStart;
+    if (offset < 0) {
+      offset += mX.length;
+    }
+    if (offset == 0 && length <= mSafeLength) {
+      mSafeStart = (mSafeStart + length) % mX.length;
+      mSafeLength -= length;
+    } else if (offset < mSafeLength && offset + length == mSafeLength) {
+      mSafeLength -= length;
+    } else {
+      unshare();
+    }
+  }
+
+  /**
+   * Copies the arrays if they are shared with snapshots.
+   */
+  private void unshare() {
+    if (mShared == mX) {
+      resize(mX.length);
+    }
+  }
+
+  /**
+   * Writes the stored values only, as a block of X values followed by a block
+   * of Y values.
+   */
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(mSize);
+    int first = Math.min(mSize, mX.length - mHead);
+    SerializationHelper.writeDoubles(out, mX, mHead, first);
+    SerializationHelper.writeDoubles(out, mX, 0, mSize - first);
+    SerializationHelper.writeDoubles(out, mY, mHead, first);
+    SerializationHelper.writeDoubles(out, mY, 0, mSize - first);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    int size = in.readInt();
+    if (size < 0) {
+      throw new IOException("Invalid values count: " + size);
+    }
+    mX = new double[Math.max(1, size)];
+    mY = new double[mX.length];
+    SerializationHelper.readDoubles(in, mX, 0, size);
+    SerializationHelper.readDoubles(in, mY, 0, size);
+    mSize = size;
+  }
+
+  private void checkWritable() {
+    if (mReadOnly) {
+      throw new UnsupportedOperationException("The snapshot values are read only");
+    }
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= mSize) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+  }
+}
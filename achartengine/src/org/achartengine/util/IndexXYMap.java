@@ -26,42 +26,37 @@ import java.util.TreeMap;
 public class IndexXYMap<K, V> extends TreeMap<K, V> {
   private final List<K> indexList = new ArrayList<K>();
 
-  private double maxXDifference = 0;
-
   public IndexXYMap() {
     super();
   }
 
   public V put(K key, V value) {
     indexList.add(key);
-    updateMaxXDifference();
     return super.put(key, value);
   }
 
   public V put(int index, K key, V value) {
     indexList.add(index, key);
-    updateMaxXDifference();
     return super.put(key, value);
   }
 
-  private void updateMaxXDifference() {
-    if (indexList.size() < 2) {
-      maxXDifference = 0;
-      return;
-    }
-
-    if (Math.abs((Double) indexList.get(indexList.size() - 1)
-        - (Double) indexList.get(indexList.size() - 2)) > maxXDifference)
-      maxXDifference = Math.abs((Double) indexList.get(indexList.size() - 1)
-          - (Double) indexList.get(indexList.size() - 2));
-  }
-
+  /**
+   * Returns the maximum difference between two consecutive X values. It is
+   * computed on request, such as adding values does not pay for it.
+   * 
+   * @return the maximum X difference
+   */
   public double getMaxXDifference() {
+    double maxXDifference = 0;
+    int length = indexList.size();
+    for (int i = 1; i < length; i++) {
+      maxXDifference = Math.max(maxXDifference,
+          Math.abs((Double) indexList.get(i) - (Double) indexList.get(i - 1)));
+    }
     return maxXDifference;
   }
 
   public void clear() {
-    updateMaxXDifference();
     super.clear();
     indexList.clear();
   }
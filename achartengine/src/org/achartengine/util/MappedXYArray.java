@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A read only storage of XY values memory mapped from a binary file, such as
+ * the values do not use any heap space and only the file pages holding the
+ * accessed values are loaded. The file is written by {@link MappedXYWriter}
+ * or the series importer, in the layout described by {@link XYFileHeader}.
+ */
+public class MappedXYArray extends AbstractXYArray {
+  /** The mapped file path. */
+  private final String mPath;
+  /** The number of values. */
+  private int mSize;
+  /** The minimum X value. */
+  private double mMinX;
+  /** The maximum X value. */
+  private double mMaxX;
+  /** The minimum Y value. */
+  private double mMinY;
+  /** The maximum Y value. */
+  private double mMaxY;
+  /** The mapped values, X and Y interleaved. */
+  private transient DoubleBuffer mValues;
+
+  /**
+   * Maps the values of the provided file.
+   *
+   * @param file the values file
+   * @throws IOException if the file cannot be read or has an unknown format
+   */
+  public MappedXYArray(File file) throws IOException {
+    mPath = file.getPath();
+    map();
+  }
+
+  /**
+   * Maps the file and reads its header.
+   *
+   * @throws IOException if the file cannot be read or has an unknown format
+   */
+  private void map() throws IOException {
+    RandomAccessFile file = new RandomAccessFile(mPath, "r");
+    try {
+      FileChannel channel = file.getChannel();
+      long length = channel.size();
+      if (length > Integer.MAX_VALUE) {
+        throw new IOException("The file is too large to be mapped: " + mPath);
+      }
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+      XYFileHeader header = XYFileHeader.read(buffer);
+      long size = header.getCount();
+      if (XYFileHeader.SIZE + size * 16 > length) {
+        throw new IOException("Truncated XY values file: " + mPath);
+      }
+      mSize = (int) size;
+      mMinX = header.getMinX();
+      mMaxX = header.getMaxX();
+      mMinY = header.getMinY();
+      mMaxY = header.getMaxY();
+      mValues = buffer.slice().asDoubleBuffer();
+    } finally {
+      // the mapping remains valid after the file is closed
+      file.close();
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    map();
+  }
+
+  /**
+   * Returns the mapped file.
+   *
+   * @return the mapped file
+   */
+  public File getFile() {
+    return new File(mPath);
+  }
+
+  @Override
+  public int size() {
+    return mSize;
+  }
+
+  @Override
+  public double getXByIndex(int index) {
+    checkIndex(index);
+    return mValues.get(2 * index);
+  }
+
+  @Override
+  public double getYByIndex(int index) {
+    checkIndex(index);
+    return mValues.get(2 * index + 1);
+  }
+
+  /**
+   * Returns this array, as the mapped values are never modified.
+   *
+   * @param rangeIndex not used
+   * @return this array
+   */
+  @Override
+  public AbstractXYArray snapshot(boolean rangeIndex) {
+    return this;
+  }
+
+  /**
+   * Returns the minimum X value, as stored in the file header.
+   *
+   * @return the minimum X value
+   */
+  public double getMinX() {
+    return mMinX;
+  }
+
+  /**
+   * Returns the maximum X value, as stored in the file header.
+   *
+   * @return the maximum X value
+   */
+  public double getMaxX() {
+    return mMaxX;
+  }
+
+  /**
+   * Returns the minimum Y value, as stored in the file header.
+   *
+   * @return the minimum Y value
+   */
+  public double getMinY() {
+    return mMinY;
+  }
+
+  /**
+   * Returns the maximum Y value, as stored in the file header.
+   *
+   * @return the maximum Y value
+   */
+  public double getMaxY() {
+    return mMaxY;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= mSize) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+  }
+}
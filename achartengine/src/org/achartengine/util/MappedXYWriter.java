@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Writes XY values to a binary file that can be mapped by
+ * {@link MappedXYArray}, in the layout described by {@link XYFileHeader}. The
+ * values are streamed to the file, such as recordings larger than the heap can
+ * be written, and must be added in increasing X order.
+ */
+public class MappedXYWriter {
+  /** The written file. */
+  private final File mFile;
+  /** The values output. */
+  private DataOutputStream mOut;
+  /** The number of written values. */
+  private long mSize;
+  /** The minimum X value. */
+  private double mMinX = MathHelper.NULL_VALUE;
+  /** The maximum X value. */
+  private double mMaxX = -MathHelper.NULL_VALUE;
+  /** The minimum Y value. */
+  private double mMinY = MathHelper.NULL_VALUE;
+  /** The maximum Y value. */
+  private double mMaxY = -MathHelper.NULL_VALUE;
+
+  /**
+   * Creates the provided file, replacing any existing one.
+   *
+   * @param file the file to be written
+   * @throws IOException if the file cannot be created
+   */
+  public MappedXYWriter(File file) throws IOException {
+    mFile = file;
+    mOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 65536));
+    // the header is written again with the final values on close
+    writeHeader(mOut);
+  }
+
+  /**
+   * Writes a new value.
+   *
+   * @param x the value for the X axis
+   * @param y the value for the Y axis
+   * @throws IOException if the value cannot be written
+   */
+  public void add(double x, double y) throws IOException {
+    if (mSize > 0 && x < mMaxX) {
+      throw new IllegalArgumentException("The values must be added in increasing X order");
+    }
+    mOut.writeDouble(x);
+    mOut.writeDouble(y);
+    mSize++;
+    mMinX = Math.min(mMinX, x);
+    mMaxX = Math.max(mMaxX, x);
+    if (y == y && y != MathHelper.NULL_VALUE) {
+      mMinY = Math.min(mMinY, y);
+      mMaxY = Math.max(mMaxY, y);
+    }
+  }
+
+  /**
+   * Returns the number of written values.
+   *
+   * @return the values count
+   */
+  public long getSize() {
+    return mSize;
+  }
+
+  /**
+   * Completes the file header and closes the file.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  public void close() throws IOException {
+    if (mOut == null) {
+      return;
+    }
+    mOut.close();
+    mOut = null;
+    RandomAccessFile file = new RandomAccessFile(mFile, "rw");
+    try {
+      writeHeader(file);
+    } finally {
+      file.close();
+    }
+  }
+
+  private void writeHeader(DataOutput out) throws IOException {
+    new XYFileHeader(mSize, mMinX, mMaxX, mMinY, mMaxY).write(out);
+  }
+}
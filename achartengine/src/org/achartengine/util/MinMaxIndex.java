@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+/**
+ * A segment tree over the positions of a values array, answering minimum and
+ * maximum queries on any positions range in logarithmic time. The tree nodes
+ * keep the positions of the extreme values, not the values themselves, and
+ * the values equal to {@link MathHelper#NULL_VALUE} are ignored.
+ */
+public class MinMaxIndex {
+  /** The indexed values. */
+  private final double[] mValues;
+  /** The number of leaves, a power of two. */
+  private final int mLeaves;
+  /** The position of the minimum value for each node, -1 if none. */
+  private final int[] mMin;
+  /** The position of the maximum value for each node, -1 if none. */
+  private final int[] mMax;
+
+  /**
+   * Builds the index over all the positions of the provided array.
+   *
+   * @param values the values array
+   */
+  public MinMaxIndex(double[] values) {
+    mValues = values;
+    int leaves = 1;
+    while (leaves < values.length) {
+      leaves <<= 1;
+    }
+    mLeaves = leaves;
+    mMin = new int[2 * leaves];
+    mMax = new int[2 * leaves];
+    for (int i = 0; i < leaves; i++) {
+      int position = i < values.length ? i : -1;
+      mMin[leaves + i] = position;
+      mMax[leaves + i] = position;
+    }
+    for (int node = leaves - 1; node > 0; node--) {
+      mMin[node] = min(mMin[2 * node], mMin[2 * node + 1]);
+      mMax[node] = max(mMax[2 * node], mMax[2 * node + 1]);
+    }
+  }
+
+  /**
+   * Returns if the index was built over the provided array.
+   *
+   * @param values the values array
+   * @return if the values are indexed
+   */
+  public boolean isIndexing(double[] values) {
+    return mValues == values;
+  }
+
+  /**
+   * Updates the index after the value at the given position has changed.
+   *
+   * @param position the position of the changed value
+   */
+  public void update(int position) {
+    int node = (mLeaves + position) >> 1;
+    while (node > 0) {
+      mMin[node] = min(mMin[2 * node], mMin[2 * node + 1]);
+      mMax[node] = max(mMax[2 * node], mMax[2 * node + 1]);
+      node >>= 1;
+    }
+  }
+
+  /**
+   * Returns the position of the minimum value in the given positions range.
+   *
+   * @param from the start position, inclusive
+   * @param to the end position, exclusive
+   * @return the position of the minimum value, or -1 if there is none
+   */
+  public int getMin(int from, int to) {
+    int result = -1;
+    for (from += mLeaves, to += mLeaves; from < to; from >>= 1, to >>= 1) {
+      if ((from & 1) == 1) {
+        result = min(result, mMin[from++]);
+      }
+      if ((to & 1) == 1) {
+        result = min(result, mMin[--to]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the position of the maximum value in the given positions range.
+   *
+   * @param from the start position, inclusive
+   * @param to the end position, exclusive
+   * @return the position of the maximum value, or -1 if there is none
+   */
+  public int getMax(int from, int to) {
+    int result = -1;
+    for (from += mLeaves, to += mLeaves; from < to; from >>= 1, to >>= 1) {
+      if ((from & 1) == 1) {
+        result = max(result, mMax[from++]);
+      }
+      if ((to & 1) == 1) {
+        result = max(result, mMax[--to]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the position holding the smaller value.
+   *
+   * @param first the first position, or -1
+   * @param second the second position, or -1
+   * @return the position holding the smaller value
+   */
+  private int min(int first, int second) {
+    if (!isValue(first)) {
+      return isValue(second) ? second : -1;
+    }
+    if (!isValue(second)) {
+      return first;
+    }
+    return mValues[second] < mValues[first] ? second : first;
+  }
+
+  /**
+   * Returns the position holding the greater value.
+   *
+   * @param first the first position, or -1
+   * @param second the second position, or -1
+   * @return the position holding the greater value
+   */
+  private int max(int first, int second) {
+    if (!isValue(first)) {
+      return isValue(second) ? second : -1;
+    }
+    if (!isValue(second)) {
+      return first;
+    }
+    return mValues[second] > mValues[first] ? second : first;
+  }
+
+  private boolean isValue(int position) {
+    if (position < 0) {
+      return false;
+    }
+    double value = mValues[position];
+    return value == value && value != MathHelper.NULL_VALUE;
+  }
+}
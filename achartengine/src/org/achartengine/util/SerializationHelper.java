@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class for the serialized forms of the values. The values are written
+ * as blocks of raw bytes instead of one double at a time, which is much faster
+ * with the object streams and keeps the serialized form compact.
+ */
+public class SerializationHelper {
+  /** The number of values written in a block. */
+  private static final int BLOCK_SIZE = 1024;
+
+  private SerializationHelper() {
+    // empty constructor
+  }
+
+  /**
+   * Writes a range of values, in the big endian order of the object streams.
+   * 
+   * @param out the output
+   * @param values the values
+   * @param offset the position of the first written value
+   * @param length the number of written values
+   * @throws IOException if the values cannot be written
+   */
+  public static void writeDoubles(ObjectOutput out, double[] values, int offset, int length)
+      throws IOException {
+    byte[] bytes = new byte[8 * Math.max(1, Math.min(length, BLOCK_SIZE))];
+    DoubleBuffer buffer = ByteBuffer.wrap(bytes).asDoubleBuffer();
+    while (length > 0) {
+      int count = Math.min(length, BLOCK_SIZE);
+      buffer.clear();
+      buffer.put(values, offset, count);
+      out.write(bytes, 0, 8 * count);
+      offset += count;
+      length -= count;
+    }
+  }
+
+  /**
+   * Reads a range of values written by
+   * {@link #writeDoubles(ObjectOutput, double[], int, int)}.
+   * 
+   * @param in the input
+   * @param values the array the values are read to
+   * @param offset the position of the first read value
+   * @param length the number of read values
+   * @throws IOException if the values cannot be read
+   */
+  public static void readDoubles(ObjectInput in, double[] values, int offset, int length)
+      throws IOException {
+    byte[] bytes = new byte[8 * Math.max(1, Math.min(length, BLOCK_SIZE))];
+    DoubleBuffer buffer = ByteBuffer.wrap(bytes).asDoubleBuffer();
+    while (length > 0) {
+      int count = Math.min(length, BLOCK_SIZE);
+      in.readFully(bytes, 0, 8 * count);
+      buffer.clear();
+      buffer.get(values, offset, count);
+      offset += count;
+      length -= count;
+    }
+  }
+
+  /**
+   * Writes a list of values, preceded by its size.
+   * 
+   * @param out the output
+   * @param values the values
+   * @throws IOException if the values cannot be written
+   */
+  public static void writeDoubles(ObjectOutput out, List<Double> values) throws IOException {
+    int size = values.size();
+    double[] array = new double[size];
+    for (int i = 0; i < size; i++) {
+      array[i] = values.get(i);
+    }
+    out.writeInt(size);
+    writeDoubles(out, array, 0, size);
+  }
+
+  /**
+   * Reads a list of values written by
+   * {@link #writeDoubles(ObjectOutput, List)}.
+   * 
+   * @param in the input
+   * @return the values
+   * @throws IOException if the values cannot be read
+   */
+  public static List<Double> readDoubleList(ObjectInput in) throws IOException {
+    int size = in.readInt();
+    if (size < 0) {
+      throw new IOException("Invalid values count: " + size);
+    }
+    double[] array = new double[size];
+    readDoubles(in, array, 0, size);
+    List<Double> values = new ArrayList<Double>(size);
+    for (int i = 0; i < size; i++) {
+      values.add(array[i]);
+    }
+    return values;
+  }
+}
@@ -0,0 +1,531 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A columnar storage of several Y columns sharing a single X column, for
+ * channels sampled at the same X values. The X values are stored once and
+ * the lookups by X are shared by all the columns and by their snapshots taken
+ * over the same rows: the last results are remembered, such as the visible
+ * range of all the columns is searched once per frame. Every column can be
+ * read as an {@link AbstractXYArray}.
+ */
+public class XYColumns implements Serializable {
+  /** The default initial capacity. */
+  private static final int DEFAULT_CAPACITY = 16;
+  /** The number of remembered lookups. */
+  private static final int LOOKUPS = 4;
+  /** The shared X values. */
+  private transient double[] mX;
+  /** The Y values of every column. */
+  private transient double[][] mY;
+  /** The number of stored rows. */
+  private transient int mSize;
+  /** The X array shared with the snapshots, if any. */
+  private transient double[] mShared;
+  /** The version, incremented on every change. */
+  private long mVersion;
+  /** The indexes of the Y values extremes, built on the first range query. */
+  private transient MinMaxIndex[] mYIndex;
+  /**
+   * The lookups of the current rows, shared with the snapshots, replaced when
+   * the rows change. Null until the first lookup.
+   */
+  private transient Lookups mLookups;
+
+  /**
+   * Builds a new empty columnar storage.
+   *
+   * @param columns the number of Y columns
+   */
+  public XYColumns(int columns) {
+    if (columns < 1) {
+      throw new IllegalArgumentException("At least one column is required");
+    }
+    mX = new double[DEFAULT_CAPACITY];
+    mY = new double[columns][DEFAULT_CAPACITY];
+  }
+
+  /**
+   * Returns the number of Y columns.
+   *
+   * @return the columns count
+   */
+  public int getColumnCount() {
+    return mY.length;
+  }
+
+  /**
+   * Returns the number of stored rows.
+   *
+   * @return the rows count
+   */
+  public synchronized int size() {
+    return mSize;
+  }
+
+  /**
+   * Makes sure the columns can hold the provided number of rows without being
+   * reallocated.
+   *
+   * @param capacity the minimum capacity
+   */
+  public synchronized void ensureCapacity(int capacity) {
+    if (capacity > mX.length) {
+      int length = Math.max(capacity, mX.length + (mX.length >> 1) + 1);
+      mX = copyOf(mX, length);
+      for (int column = 0; column < mY.length; column++) {
+        mY[column] = copyOf(mY[column], length);
+      }
+    }
+  }
+
+  private double[] copyOf(double[] values, int length) {
+    double[] copy = new double[length];
+    System.arraycopy(values, 0, copy, 0, mSize);
+    return copy;
+  }
+
+  /**
+   * Appends a new row. The X value must be greater than the stored ones.
+   *
+   * @param x the X value
+   * @param y the Y value of every column
+   */
+  public synchronized void add(double x, double[] y) {
+    if (y.length != mY.length) {
+      throw new IllegalArgumentException("Expected " + mY.length + " Y values");
+    }
+    checkOrder(x);
+    ensureCapacity(mSize + 1);
+    mX[mSize] = x;
+    for (int column = 0; column < mY.length; column++) {
+      mY[column][mSize] = y[column];
+    }
+    mSize++;
+    updateIndexes(mSize - 1);
+    mVersion++;
+  }
+
+  /**
+   * Appends the provided rows. The X values must be increasing and greater
+   * than the stored ones.
+   *
+   * @param x the X values
+   * @param y the Y values, one array for every column
+   * @param offset the offset of the first row in the provided arrays
+   * @param length the number of rows to append
+   */
+  public synchronized void addAll(double[] x, double[][] y, int offset, int length) {
+    if (y.length != mY.length) {
+      throw new IllegalArgumentException("Expected " + mY.length + " Y columns");
+    }
+    for (int i = 0; i < length; i++) {
+      checkOrder(x[offset + i]);
+      if (i > 0 && x[offset + i] <= x[offset + i - 1]) {
+        throw new IllegalArgumentException("The X values must be increasing");
+      }
+    }
+    ensureCapacity(mSize + length);
+    System.arraycopy(x, offset, mX, mSize, length);
+    for (int column = 0; column < mY.length; column++) {
+      System.arraycopy(y[column], offset, mY[column], mSize, length);
+    }
+    mSize += length;
+    mVersion++;
+    if (length > mSize >> 4) {
+      // cheaper to build the indexes again on the next query
+      mYIndex = null;
+      clearLookups();
+    } else {
+      for (int i = mSize - length; i < mSize; i++) {
+        updateIndexes(i);
+      }
+    }
+  }
+
+  private void checkOrder(double x) {
+    if (mSize > 0 && x <= mX[mSize - 1]) {
+      throw new IllegalArgumentException("The X values must be increasing");
+    }
+  }
+
+  /**
+   * Updates the Y values indexes after a row was appended.
+   *
+   * @param index the appended row index
+   */
+  private void updateIndexes(int index) {
+    if (mYIndex != null) {
+      for (int column = 0; column < mY.length; column++) {
+        if (mYIndex[column] != null && mYIndex[column].isIndexing(mY[column])) {
+          mYIndex[column].update(index);
+        }
+      }
+    }
+    clearLookups();
+  }
+
+  /**
+   * Removes all the rows.
+   */
+  public synchronized void clear() {
+    if (mShared == mX) {
+      // the snapshots keep the current arrays
+      mX = new double[mX.length];
+      for (int column = 0; column < mY.length; column++) {
+        mY[column] = new double[mX.length];
+      }
+    }
+    mSize = 0;
+    mYIndex = null;
+    clearLookups();
+    mVersion++;
+  }
+
+  /**
+   * Returns the version of the columns, incremented every time rows are added
+   * or removed.
+   *
+   * @return the version
+   */
+  public synchronized long getVersion() {
+    return mVersion;
+  }
+
+  /**
+   * Returns the X value at the given index.
+   *
+   * @param index the index
+   * @return the X value
+   */
+  public synchronized double getX(int index) {
+    checkIndex(index);
+    return mX[index];
+  }
+
+  /**
+   * Returns the Y value of the given column at the given index.
+   *
+   * @param column the column
+   * @param index the index
+   * @return the Y value
+   */
+  public synchronized double getY(int column, int index) {
+    checkIndex(index);
+    return mY[column][index];
+  }
+
+  /**
+   * Returns the index of the first row having the X greater than or equal to
+   * the provided one.
+   *
+   * @param x the X value
+   * @return the index, or the rows count if there is no such row
+   */
+  public synchronized int getCeilingIndex(double x) {
+    return getLookups().search(mX, mSize, x, false);
+  }
+
+  /**
+   * Returns the index of the first row having the X strictly greater than the
+   * provided one.
+   *
+   * @param x the X value
+   * @return the index, or the rows count if there is no such row
+   */
+  public synchronized int getHigherIndex(double x) {
+    return getLookups().search(mX, mSize, x, true);
+  }
+
+  /**
+   * Returns the lookups of the current rows, created if missing.
+   *
+   * @return the lookups
+   */
+  private Lookups getLookups() {
+    if (mLookups == null) {
+      mLookups = new Lookups();
+    }
+    return mLookups;
+  }
+
+  /**
+   * Forgets the lookups, after the rows changed. The snapshots keep the
+   * previous ones, which are still valid for their rows.
+   */
+  private void clearLookups() {
+    mLookups = null;
+  }
+
+  /**
+   * Returns the index of the extreme Y value of a column in the given index
+   * range. The first call builds an index of the column in linear time, then
+   * the queries take logarithmic time. Null values are ignored.
+   *
+   * @param column the column
+   * @param fromIndex the start index, inclusive
+   * @param toIndex the end index, exclusive
+   * @param max if the maximum is searched, otherwise the minimum
+   * @return the index of the extreme Y value, or -1 if there is none
+   */
+  public synchronized int getExtremeYIndex(int column, int fromIndex, int toIndex, boolean max) {
+    fromIndex = Math.max(0, fromIndex);
+    toIndex = Math.min(mSize, toIndex);
+    if (fromIndex >= toIndex) {
+      return -1;
+    }
+    MinMaxIndex index = getYIndex(column);
+    return max ? index.getMax(fromIndex, toIndex) : index.getMin(fromIndex, toIndex);
+  }
+
+  /**
+   * Returns the index of the Y values of a column, built if missing or out of
+   * date.
+   *
+   * @param column the column
+   * @return the Y values index
+   */
+  private MinMaxIndex getYIndex(int column) {
+    if (mYIndex == null) {
+      mYIndex = new MinMaxIndex[mY.length];
+    }
+    if (mYIndex[column] == null || !mYIndex[column].isIndexing(mY[column])) {
+      mYIndex[column] = new MinMaxIndex(mY[column]);
+    }
+    return mYIndex[column];
+  }
+
+  /**
+   * Returns a read only snapshot of the values of a column, in constant time.
+   * The rows are only appended after the stored ones, so the snapshot shares
+   * the arrays.
+   *
+   * @param column the column
+   * @param rangeIndex if the Y values index must be built first, to be shared
+   *          with the snapshot
+   * @return the snapshot
+   */
+  public synchronized AbstractXYArray snapshot(int column, boolean rangeIndex) {
+    mShared = mX;
+    MinMaxIndex index = rangeIndex ? getYIndex(column) : null;
+    return new ColumnSnapshot(mX, mY[column], mSize, index, getLookups());
+  }
+
+  /**
+   * Returns a read only view over the values of a column.
+   *
+   * @param column the column
+   * @return the column values
+   */
+  public AbstractXYArray getColumn(int column) {
+    if (column < 0 || column >= mY.length) {
+      throw new IndexOutOfBoundsException("Column: " + column + ", Columns: " + mY.length);
+    }
+    return new Column(column);
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= mSize) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+  }
+
+  /**
+   * Writes the stored rows only, as a block of X values followed by a block of
+   * Y values for every column.
+   */
+  private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(mY.length);
+    out.writeInt(mSize);
+    SerializationHelper.writeDoubles(out, mX, 0, mSize);
+    for (int column = 0; column < mY.length; column++) {
+      SerializationHelper.writeDoubles(out, mY[column], 0, mSize);
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    int columns = in.readInt();
+    int size = in.readInt();
+    if (columns < 1 || size < 0) {
+      throw new IOException("Invalid columns: " + columns + ", rows: " + size);
+    }
+    int capacity = Math.max(1, size);
+    mX = new double[capacity];
+    mY = new double[columns][capacity];
+    SerializationHelper.readDoubles(in, mX, 0, size);
+    for (int column = 0; column < columns; column++) {
+      SerializationHelper.readDoubles(in, mY[column], 0, size);
+    }
+    mSize = size;
+  }
+
+  /**
+   * The remembered lookups by X over given rows, shared by the columns and
+   * their snapshots.
+   */
+  private static class Lookups {
+    /** The remembered looked up X values. */
+    private final double[] mLookupX = new double[LOOKUPS];
+    /** The remembered lookup kinds, true for the strictly higher ones. */
+    private final boolean[] mLookupHigher = new boolean[LOOKUPS];
+    /** The remembered lookup results, -1 if none. */
+    private final int[] mLookupIndex = new int[LOOKUPS];
+    /** The position of the next replaced lookup. */
+    private int mNextLookup;
+
+    public Lookups() {
+      Arrays.fill(mLookupIndex, -1);
+    }
+
+    /**
+     * Returns the index of the first row having the X greater than, or equal
+     * to unless strictly required, the provided one.
+     *
+     * @param values the X values
+     * @param size the number of rows
+     * @param x the X value
+     * @param higher if the X must be strictly greater
+     * @return the index, or the rows count if there is no such row
+     */
+    public synchronized int search(double[] values, int size, double x, boolean higher) {
+      for (int i = 0; i < LOOKUPS; i++) {
+        if (mLookupIndex[i] >= 0 && mLookupX[i] == x && mLookupHigher[i] == higher) {
+          return mLookupIndex[i];
+        }
+      }
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (higher ? values[mid] <= x : values[mid] < x) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      mLookupX[mNextLookup] = x;
+      mLookupHigher[mNextLookup] = higher;
+      mLookupIndex[mNextLookup] = low;
+      mNextLookup = (mNextLookup + 1) % LOOKUPS;
+      return low;
+    }
+  }
+
+  /**
+   * A read only snapshot of a column, sharing the lookups by X with the
+   * snapshots of the other columns taken over the same rows.
+   */
+  private static class ColumnSnapshot extends IndexXYArray {
+    /** The X values. */
+    private transient double[] mValues;
+    /** The number of rows. */
+    private transient int mRows;
+    /** The shared lookups, null once deserialized. */
+    private transient Lookups mLookups;
+
+    public ColumnSnapshot(double[] x, double[] y, int size, MinMaxIndex yIndex, Lookups lookups) {
+      super(x, y, 0, size, yIndex);
+      mValues = x;
+      mRows = size;
+      mLookups = lookups;
+    }
+
+    @Override
+    public int getCeilingIndex(double x) {
+      if (mLookups == null) {
+        return super.getCeilingIndex(x);
+      }
+      return mLookups.search(mValues, mRows, x, false);
+    }
+
+    @Override
+    public int getHigherIndex(double x) {
+      if (mLookups == null) {
+        return super.getHigherIndex(x);
+      }
+      return mLookups.search(mValues, mRows, x, true);
+    }
+  }
+
+  /**
+   * A read only view over the values of a column.
+   */
+  private class Column extends AbstractXYArray {
+    /** The column. */
+    private final int mColumn;
+
+    public Column(int column) {
+      mColumn = column;
+    }
+
+    @Override
+    public int size() {
+      return XYColumns.this.size();
+    }
+
+    @Override
+    public double getXByIndex(int index) {
+      return getX(index);
+    }
+
+    @Override
+    public double getYByIndex(int index) {
+      return getY(mColumn, index);
+    }
+
+    @Override
+    public int getIndexForKey(double key) {
+      synchronized (XYColumns.this) {
+        int index = XYColumns.this.getCeilingIndex(key);
+        return index < mSize && mX[index] == key ? index : -(index + 1);
+      }
+    }
+
+    @Override
+    public int getCeilingIndex(double x) {
+      return XYColumns.this.getCeilingIndex(x);
+    }
+
+    @Override
+    public int getHigherIndex(double x) {
+      return XYColumns.this.getHigherIndex(x);
+    }
+
+    @Override
+    public int getMinYIndex(int fromIndex, int toIndex) {
+      return getExtremeYIndex(mColumn, fromIndex, toIndex, false);
+    }
+
+    @Override
+    public AbstractXYArray snapshot(boolean rangeIndex) {
+      return XYColumns.this.snapshot(mColumn, rangeIndex);
+    }
+
+    @Override
+    public int getMaxYIndex(int fromIndex, int toIndex) {
+      return getExtremeYIndex(mColumn, fromIndex, toIndex, true);
+    }
+  }
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright (C) 2009 - 2013 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The header of the XY values binary files, written by {@link MappedXYWriter}
+ * and the series importer, and read by {@link MappedXYArray} and the series
+ * importer.
+ * <p>
+ * The layout is big endian, as written by {@link DataOutput}: a 48 bytes
+ * header made of the {@link #MAGIC} int, the {@link #VERSION} int, the long
+ * number of values and the minimum X, maximum X, minimum Y and maximum Y
+ * doubles, followed by the X and Y IEEE 754 doubles of every value, sorted by
+ * X.
+ */
+public class XYFileHeader {
+  /** The first int of the files, the "ACXY" bytes. */
+  public static final int MAGIC = 0x41435859;
+  /** The version of the layout. */
+  public static final int VERSION = 1;
+  /** The header size in bytes, the values start right after. */
+  public static final int SIZE = 48;
+  /** The number of values. */
+  private final long mCount;
+  /** The minimum X value. */
+  private final double mMinX;
+  /** The maximum X value. */
+  private final double mMaxX;
+  /** The minimum Y value. */
+  private final double mMinY;
+  /** The maximum Y value. */
+  private final double mMaxY;
+
+  /**
+   * Builds a new header.
+   *
+   * @param count the number of values
+   * @param minX the minimum X value
+   * @param maxX the maximum X value
+   * @param minY the minimum Y value
+   * @param maxY the maximum Y value
+   */
+  public XYFileHeader(long count, double minX, double maxX, double minY, double maxY) {
+    mCount = count;
+    mMinX = minX;
+    mMaxX = maxX;
+    mMinY = minY;
+    mMaxY = maxY;
+  }
+
+  /**
+   * Reads a header at the position of the provided buffer, which is moved
+   * after it. The buffer byte order is not used.
+   *
+   * @param buffer the buffer
+   * @return the header
+   * @throws IOException if the buffer does not hold a supported header
+   */
+  public static XYFileHeader read(ByteBuffer buffer) throws IOException {
+    ByteBuffer header = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    if (header.remaining() < SIZE || header.getInt() != MAGIC) {
+      throw new IOException("Not an XY values file");
+    }
+    int version = header.getInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported XY values file version: " + version);
+    }
+    long count = header.getLong();
+    if (count < 0) {
+      throw new IOException("Invalid values count: " + count);
+    }
+    buffer.position(buffer.position() + SIZE);
+    return new XYFileHeader(count, header.getDouble(), header.getDouble(), header.getDouble(),
+        header.getDouble());
+  }
+
+  /**
+   * Writes the header at the position of the provided buffer, which is moved
+   * after it. The buffer byte order is not used.
+   *
+   * @param buffer the buffer
+   */
+  public void write(ByteBuffer buffer) {
+    ByteBuffer header = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    header.putInt(MAGIC).putInt(VERSION).putLong(mCount);
+    header.putDouble(mMinX).putDouble(mMaxX).putDouble(mMinY).putDouble(mMaxY);
+    buffer.position(buffer.position() + SIZE);
+  }
+
+  /**
+   * Writes the header to the provided output.
+   *
+   * @param out the output
+   * @throws IOException if the header cannot be written
+   */
+  public void write(DataOutput out) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeLong(mCount);
+    out.writeDouble(mMinX);
+    out.writeDouble(mMaxX);
+    out.writeDouble(mMinY);
+    out.writeDouble(mMaxY);
+  }
+
+  /**
+   * Returns the number of values.
+   *
+   * @return the values count
+   */
+  public long getCount() {
+    return mCount;
+  }
+
+  /**
+   * Returns the minimum X value.
+   *
+   * @return the minimum X value
+   */
+  public double getMinX() {
+    return mMinX;
+  }
+
+  /**
+   * Returns the maximum X value.
+   *
+   * @return the maximum X value
+   */
+  public double getMaxX() {
+    return mMaxX;
+  }
+
+  /**
+   * Returns the minimum Y value.
+   *
+   * @return the minimum Y value
+   */
+  public double getMinY() {
+    return mMinY;
+  }
+
+  /**
+   * Returns the maximum Y value.
+   *
+   * @return the maximum Y value
+   */
+  public double getMaxY() {
+    return mMaxY;
+  }
+}